@@ -0,0 +1,25 @@
+#!/bin/sh
+# Starts the application in the image: from the class data archive recorded when the image was built and, when the
+# configuration allows it, from the bean definitions that Spring AOT generated at build time.
+set -eu
+
+# AOT fixed the beans for the default configuration, so settings that pick other beans need the regular startup
+aot=${APP_AOT:-true}
+if [ -n "${SPRING_PROFILES_ACTIVE:-}" ] || [ -n "${DATASOURCE_REPLICAS_URLS:-}" ] \
+    || [ "${TASK_STORE:-jpa}" != jpa ] || [ "${APP_VIRTUAL_THREADS:-false}" = true ] \
+    || [ "${SPRING_CACHE_TYPE:-caffeine}" != caffeine ]; then
+  aot=false
+fi
+
+cds=
+if [ "${APP_CDS:-true}" = true ] && [ -f application.jsa ]; then
+  cds=-XX:SharedArchiveFile=application.jsa
+fi
+
+# heap and metaspace follow the container's memory limit; JAVA_OPTS adds to or overrides these
+exec java $cds \
+  -XX:MaxRAMPercentage=${APP_MAX_RAM_PERCENTAGE:-75} \
+  -XX:+ExitOnOutOfMemoryError \
+  -Dspring.aot.enabled=$aot \
+  ${JAVA_OPTS:-} \
+  -jar application.jar "$@"
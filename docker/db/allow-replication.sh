@@ -0,0 +1,4 @@
+#!/bin/bash
+# lets the db-replica service stream WAL from this database; runs once, when the data directory is initialized
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,23 @@
+#!/usr/bin/env sh
+# Runs loadtest/tasks.js against the docker compose stack once with platform threads and once with virtual threads.
+set -eu
+cd "$(dirname "$0")/.."
+
+APP_PORT=$(grep '^APP_PORT=' .env | cut -d= -f2)
+mkdir -p loadtest/results
+./mvnw -q -Paot -DskipTests package
+
+for virtual in false true; do
+  mode=$([ "$virtual" = true ] && echo virtual || echo platform)
+  APP_VIRTUAL_THREADS=$virtual docker compose up -d --build --force-recreate app db
+  until curl -sf "http://localhost:${APP_PORT}/actuator/health" > /dev/null; do sleep 2; done
+
+  docker run --rm --network host -v "$PWD/loadtest:/loadtest" -w /loadtest \
+    -e BASE_URL="http://localhost:${APP_PORT}" -e MODE="$mode" \
+    grafana/k6 run --quiet tasks.js | tee "loadtest/results/$mode.txt"
+
+  docker compose down -v
+done
+
+echo "--- summary ---"
+cat loadtest/results/platform.txt loadtest/results/virtual.txt
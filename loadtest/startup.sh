@@ -0,0 +1,34 @@
+#!/usr/bin/env sh
+# Builds the image and starts the app container once per startup variant, reporting Spring's startup time and the
+# time from starting the container to the first answered GET /tasks.
+set -eu
+cd "$(dirname "$0")/.."
+
+APP_PORT=$(grep '^APP_PORT=' .env | cut -d= -f2)
+mkdir -p loadtest/results
+./mvnw -q -Paot -DskipTests package
+docker compose build app
+docker compose up -d db
+until docker compose exec -T db pg_isready -q; do sleep 1; done
+
+report=loadtest/results/startup.txt
+printf '%-10s %10s %15s\n' variant started first-request > "$report"
+for variant in plain cds cds+aot; do
+  case $variant in
+    plain) cds=false aot=false ;;
+    cds) cds=true aot=false ;;
+    cds+aot) cds=true aot=true ;;
+  esac
+  docker compose rm -sf app > /dev/null
+  begin=$(date +%s%N)
+  APP_CDS=$cds APP_AOT=$aot docker compose up -d --no-deps app
+  until curl -sf "http://localhost:${APP_PORT}/tasks?size=1" > /dev/null; do sleep 0.1; done
+  end=$(date +%s%N)
+
+  started=$(docker compose logs app | sed -n 's/.*Started LimeApplication in \([0-9.]*\) seconds.*/\1/p' | tail -1)
+  printf '%-10s %9ss %13sms\n' "$variant" "$started" $(((end - begin) / 1000000)) >> "$report"
+done
+docker compose down -v
+
+echo "--- startup ---"
+cat "$report"
@@ -0,0 +1,75 @@
+// Mixed read/write load against the task API: k6 run -e BASE_URL=http://localhost:8080 -e MODE=platform loadtest/tasks.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'unknown';
+const SEED_TASKS = 2000;
+
+export const options = {
+    scenarios: {
+        burst: {
+            executor: 'ramping-arrival-rate',
+            startRate: 100,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: 500, duration: '30s' },
+                { target: 2000, duration: '30s' },
+                { target: 2000, duration: '60s' },
+                { target: 100, duration: '15s' },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const token = http.post(`${BASE_URL}/auth?authType=ADMIN`).body;
+    const headers = { Authorization: `Bearer ${token}`, 'Content-Type': 'application/json' };
+    for (let offset = 0; offset < SEED_TASKS; offset += 500) {
+        const batch = [];
+        for (let i = offset; i < offset + 500; i++) {
+            const due = new Date(Date.now() + (i % 30) * 86400000).toISOString().slice(0, 10);
+            batch.push({ title: `Load ${i}`, description: 'Load test task', dueDate: due, isCritical: i % 10 === 0 });
+        }
+        http.post(`${BASE_URL}/tasks/batch`, JSON.stringify(batch), { headers });
+    }
+    const ids = JSON.parse(http.get(`${BASE_URL}/tasks?size=500`).body).items.map((task) => task.id);
+    return { headers, ids };
+}
+
+export default function (data) {
+    const roll = Math.random();
+    if (roll < 0.6) {
+        // first page, then one page further: cursor pages are never served from the cache
+        const first = http.get(`${BASE_URL}/tasks?size=50&sort=${roll < 0.3 ? 'PRIORITY' : 'DUE_DATE'}`, { tags: { name: 'GET /tasks' } });
+        check(first, { 'page 200': (r) => r.status === 200 });
+        const cursor = first.status === 200 ? first.json('nextCursor') : null;
+        if (cursor) {
+            http.get(`${BASE_URL}/tasks?size=50&cursor=${cursor}&sort=${roll < 0.3 ? 'PRIORITY' : 'DUE_DATE'}`, { tags: { name: 'GET /tasks?cursor' } });
+        }
+    } else if (roll < 0.9) {
+        const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+        check(http.get(`${BASE_URL}/tasks/${id}`, { tags: { name: 'GET /tasks/{id}' } }), { 'task 200': (r) => r.status === 200 });
+    } else {
+        const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+        const due = new Date(Date.now() + Math.floor(Math.random() * 30) * 86400000).toISOString().slice(0, 10);
+        const body = JSON.stringify({ title: `Load ${id}`, description: 'Updated by load test', dueDate: due, isCritical: false, isCompleted: false });
+        check(http.put(`${BASE_URL}/tasks/${id}`, body, { headers: data.headers, tags: { name: 'PUT /tasks/{id}' } }),
+            { 'update 200': (r) => r.status === 200 });
+    }
+}
+
+export function handleSummary(data) {
+    const duration = data.metrics.http_req_duration.values;
+    const line = `${MODE}: ${data.metrics.http_reqs.values.rate.toFixed(1)} req/s, ` +
+        `p50 ${duration['p(50)'].toFixed(1)}ms, p99 ${duration['p(99)'].toFixed(1)}ms, ` +
+        `failed ${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%, ` +
+        `dropped iterations ${data.metrics.dropped_iterations ? data.metrics.dropped_iterations.values.count : 0}\n`;
+    return {
+        stdout: line,
+        [`results/${MODE}.json`]: JSON.stringify(data, null, 2),
+    };
+}
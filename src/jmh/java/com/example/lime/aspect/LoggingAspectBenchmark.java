@@ -0,0 +1,79 @@
+package com.example.lime.aspect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the logging aspect adds to a controller call, compared with calling the same controller directly.
+ * The writer thread runs as in production; its output is silenced by the benchmark logback configuration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingAspectBenchmark {
+
+    @Param({"0.0", "0.1", "1.0"})
+    private double bodySampleRate;
+
+    private RequestLogWriter writer;
+    private BenchmarkController direct;
+    private BenchmarkController advised;
+    private Map<String, Object> body;
+
+    @Setup
+    public void setUp() {
+        writer = new RequestLogWriter(new ObjectMapper(), new SimpleMeterRegistry(), 8192, 1024);
+        writer.start();
+        LoggingAspect aspect = new LoggingAspect(writer,
+                new StaticListableBeanFactory().getBeanProvider(RequestMappingHandlerMapping.class), bodySampleRate);
+
+        direct = new BenchmarkController();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(direct);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        advised = proxyFactory.getProxy();
+
+        body = Map.of("title", "Benchmark task", "description", "Logged request body", "dueDate", "2030-01-01");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("POST", "/tasks")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        writer.stop();
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> withoutAspect() {
+        return direct.create(body);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> withAspect() {
+        return advised.create(body);
+    }
+
+    @RestController
+    public static class BenchmarkController {
+
+        public ResponseEntity<Map<String, Object>> create(@RequestBody Map<String, Object> request) {
+            return ResponseEntity.ok(request);
+        }
+    }
+}
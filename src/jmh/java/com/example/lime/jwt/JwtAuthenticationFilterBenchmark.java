@@ -0,0 +1,53 @@
+package com.example.lime.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One request through the JWT filter, from reading the header to populating the security context.
+ * {@code cached} is the steady state of a client reusing its token; {@code uncached} verifies the
+ * signature every time, as happens for the first request with a new token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"cached", "uncached"})
+    private String mode;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        long cacheSize = mode.equals("cached") ? 10_000 : 0;
+        filter = new JwtAuthenticationFilter(new JwtTokenCache(jwtUtil, new SimpleMeterRegistry(), cacheSize));
+        request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken("admin", "ADMIN"));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticate() throws ServletException, IOException {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
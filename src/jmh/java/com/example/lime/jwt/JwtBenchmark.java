@@ -0,0 +1,38 @@
+package com.example.lime.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private String token;
+
+    @Setup
+    public void setUp() {
+        token = jwtUtil.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.lime.task;
+
+import com.example.lime.task.dto.response.TaskPage;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A page of {@code GET /tasks} in each encoding the API negotiates, with and without the gzip the server applies
+ * above its size threshold. {@code encode} is the server's CPU per response, {@code decode} the client's; each
+ * also reports the size of the payload as {@code payloadBytes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskEncodingBenchmark {
+
+    @Param({"50", "500"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String encoding;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private TaskPage page;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = switch (encoding) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        writer = objectMapper.writerFor(TaskPage.class);
+        reader = objectMapper.readerFor(TaskPage.class);
+
+        Priority[] priorities = Priority.values();
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskResponse> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(TaskResponse.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Description of task number " + i)
+                    .dueDate(today.plusDays(i % 30))
+                    .priority(priorities[i % priorities.length])
+                    .completed(i % 4 == 0)
+                    .version(0L)
+                    .createdBy("admin")
+                    .createdDate(now)
+                    .build());
+        }
+        page = new TaskPage(tasks, "UFJJT1JJVFk6TUVESVVNOjIwMjUtMDItMDQ6Ng");
+        payload = encode(new Payload());
+    }
+
+    @Benchmark
+    public byte[] encode(Payload counters) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            writer.writeValue(out, page);
+        }
+        counters.payloadBytes = bytes.size();
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public TaskPage decode(Payload counters) throws IOException {
+        counters.payloadBytes = payload.length;
+        InputStream bytes = new ByteArrayInputStream(payload);
+        try (InputStream in = gzip ? new GZIPInputStream(bytes) : bytes) {
+            return reader.readValue(in);
+        }
+    }
+
+    /**
+     * Read by JMH after each iteration; assigned rather than added to, so the secondary result is the size itself.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long payloadBytes;
+    }
+}
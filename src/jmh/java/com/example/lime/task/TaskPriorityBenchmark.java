@@ -0,0 +1,43 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.Priority;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskPriorityBenchmark {
+
+    private static final int DATES = 1024;
+
+    private final TaskService taskService = new TaskService(null, null, null, null);
+    private final LocalDate[] dueDates = new LocalDate[DATES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        // spread over all three priority bands so the branch predictor cannot learn a single path
+        for (int i = 0; i < DATES; i++) {
+            dueDates[i] = today.plusDays(i % 15 - 2);
+        }
+    }
+
+    @Benchmark
+    public Priority calculatePriority() {
+        LocalDate dueDate = dueDates[next++ & (DATES - 1)];
+        return taskService.calculatePriority(false, false, dueDate);
+    }
+
+    @Benchmark
+    public Priority calculatePriorityCritical() {
+        LocalDate dueDate = dueDates[next++ & (DATES - 1)];
+        return taskService.calculatePriority(true, false, dueDate);
+    }
+}
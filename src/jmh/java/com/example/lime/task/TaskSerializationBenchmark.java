@@ -0,0 +1,79 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of task lists as done by {@code GET /tasks} (one JSON array) and {@code GET /tasks/stream}
+ * (newline delimited), with an object mapper configured the way Spring Boot configures it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private List<Task> tasks;
+    private ObjectWriter listWriter;
+    private ObjectWriter lineWriter;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Task.class));
+        lineWriter = objectMapper.writerFor(Task.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+
+        Priority[] priorities = Priority.values();
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = Task.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Description of task number " + i)
+                    .dueDate(today.plusDays(i % 30))
+                    .priority(priorities[i % priorities.length])
+                    .isCompleted(i % 4 == 0)
+                    .version(0L)
+                    .build();
+            task.setCreatedBy("admin");
+            task.setCreatedDate(now);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonArray() throws IOException {
+        return listWriter.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public void ndjsonStream() throws IOException {
+        try (SequenceWriter lines = lineWriter.writeValues(OutputStream.nullOutputStream())) {
+            for (Task task : tasks) {
+                lines.write(task);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.lime.task.store;
+
+import com.example.lime.task.Task;
+import com.example.lime.task.TaskCursor;
+import com.example.lime.task.TaskFilter;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of {@code GET /tasks} (51 rows, as the service asks for one extra) from {@link InMemoryTaskStore} holding
+ * {@code size} tasks: the first page of each sort, a filtered page, and a page halfway through. The heap taken by
+ * the store, and by the same tasks as entity objects, is reported with each score as {@code storeMegabytes} and
+ * {@code entityMegabytes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TaskStoreBenchmark {
+
+    private static final int LIMIT = 51;
+
+    @Param({"1000000"})
+    private int size;
+
+    private InMemoryTaskStore store;
+    private TaskFilter openLowPriority;
+    private TaskCursor halfway;
+    private long entityBytes;
+    private long storeBytes;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        long before = usedHeap();
+        List<Task> entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entities.add(task(i, today, now));
+        }
+        entityBytes = usedHeap() - before;
+
+        // the store keeps the same strings, so the two differ by the layout only
+        store = new InMemoryTaskStore(event -> {
+        });
+        for (int i = 0; i < size; i += 10_000) {
+            store.saveAll(entities.subList(i, Math.min(i + 10_000, size)));
+        }
+        entities = null;
+        storeBytes = usedHeap() - before;
+
+        openLowPriority = TaskFilter.builder().completed(false).priority(Set.of(Priority.LOW)).build();
+        TaskResponse middle = TaskResponse.builder().id(size / 2L).priority(Priority.MEDIUM)
+                .dueDate(today.plusDays(180)).build();
+        halfway = TaskCursor.of(SortType.PRIORITY, middle);
+    }
+
+    @Benchmark
+    public List<TaskResponse> firstPageByPriority(Heap heap) {
+        return report(heap, store.findPage(null, SortType.PRIORITY, null, LIMIT, TaskField.DEFAULTS));
+    }
+
+    @Benchmark
+    public List<TaskResponse> firstPageByDueDate(Heap heap) {
+        return report(heap, store.findPage(null, SortType.DUE_DATE, null, LIMIT, TaskField.DEFAULTS));
+    }
+
+    @Benchmark
+    public List<TaskResponse> filteredPageByDueDate(Heap heap) {
+        return report(heap, store.findPage(openLowPriority, SortType.DUE_DATE, null, LIMIT, TaskField.DEFAULTS));
+    }
+
+    @Benchmark
+    public List<TaskResponse> pageHalfwayByPriority(Heap heap) {
+        return report(heap, store.findPage(null, SortType.PRIORITY, halfway, LIMIT, TaskField.DEFAULTS));
+    }
+
+    // JMH zeroes the counters as each iteration starts, so the sizes measured in setUp are copied on every call
+    private List<TaskResponse> report(Heap heap, List<TaskResponse> page) {
+        heap.entityMegabytes = entityBytes >> 20;
+        heap.storeMegabytes = storeBytes >> 20;
+        return page;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Heap {
+
+        public long entityMegabytes;
+        public long storeMegabytes;
+    }
+
+    // as loaded from the database: every row with its own strings and timestamps
+    private static Task task(int i, LocalDate today, LocalDateTime now) {
+        Task task = Task.builder()
+                .title("Task " + i)
+                .description("Description of task number " + i)
+                .dueDate(today.plusDays(i % 365))
+                .priority(Priority.values()[i % 3])
+                .isCompleted(i % 4 == 0)
+                .version(0L)
+                .build();
+        task.setCreatedBy(new String("admin"));
+        task.setCreatedDate(now.plusNanos(i * 1000L));
+        return task;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
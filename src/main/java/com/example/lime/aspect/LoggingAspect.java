@@ -5,91 +5,104 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.Map;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Aspect
 @Component
-public class LoggingAspect {
+public class LoggingAspect implements SmartInitializingSingleton {
 
-    private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS'Z'").withZone(ZoneId.of("UTC"));
+    private static final String SENSITIVE_PATH_PREFIX = "/auth";
+
+    private final RequestLogWriter requestLogWriter;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+    private final double bodySampleRate;
+    private final Map<Method, MethodMetadata> methodMetadata = new ConcurrentHashMap<>();
+
+    public LoggingAspect(RequestLogWriter requestLogWriter,
+                         @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping,
+                         @Value("${logging.request.body-sample-rate:0.1}") double bodySampleRate) {
+        this.requestLogWriter = requestLogWriter;
+        this.handlerMapping = handlerMapping;
+        this.bodySampleRate = bodySampleRate;
+    }
 
     @Pointcut("within(@org.springframework.web.bind.annotation.RestController *)")
     public void restControllerMethods() {
     }
 
+    @Override
+    public void afterSingletonsInstantiated() {
+        // resolve everything the aspect needs about each endpoint once, instead of reflecting per request
+        handlerMapping.ifAvailable(mapping -> mapping.getHandlerMethods().forEach((info, handlerMethod) -> {
+            boolean sensitive = info.getPatternValues().stream().anyMatch(pattern -> pattern.startsWith(SENSITIVE_PATH_PREFIX));
+            methodMetadata.put(handlerMethod.getMethod(), MethodMetadata.of(handlerMethod.getMethod(), sensitive));
+        }));
+    }
+
     @Around("restControllerMethods()")
     public Object logRequestResponse(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        String requestId = UUID.randomUUID().toString().substring(0, 6);
-        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
-        String url = request.getRequestURL().toString();
-        String method = request.getMethod();
-
-        Map<String, String[]> queryParams = request.getParameterMap();
-        String queryString = queryParams.entrySet().stream()
-                .map(entry -> entry.getKey() + "=" + String.join(",", entry.getValue()))
-                .collect(Collectors.joining("&"));
-
-        Object requestBody = null;
-        Object[] args = joinPoint.getArgs();
-        Class<?>[] parameterTypes = new Class<?>[args.length];
-
-        for (int i = 0; i < args.length; i++) {
-            parameterTypes[i] = args[i] != null ? args[i].getClass() : Object.class;
-        }
-
-        try {
-            Method methodSignature = joinPoint.getSignature().getDeclaringType().getDeclaredMethod(joinPoint.getSignature().getName(), parameterTypes);
-            Parameter[] parameters = methodSignature.getParameters();
-            for (int i = 0; i < parameters.length; i++) {
-                if (parameters[i].isAnnotationPresent(RequestBody.class)) {
-                    requestBody = args[i];
-                    break;
-                }
-            }
-        } catch (NoSuchMethodException e) {
-            logger.error("Method not found: {}", joinPoint.getSignature().getName());
+        long startTime = System.nanoTime();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
             return joinPoint.proceed();
         }
+        HttpServletRequest request = servletAttributes.getRequest();
+        long timestamp = System.currentTimeMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int requestId = random.nextInt(1 << 24);
 
-        logger.info("Incoming Request: Method={} URL={} Timestamp={} RequestId={}", method, url + (queryString.isEmpty() ? "" : "?" + queryString), formatter.format(Instant.now()), requestId);
-        if (requestBody != null) {
-            logger.info("Request Body: {}", requestBody);
-        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodMetadata metadata = methodMetadata.computeIfAbsent(method, m -> MethodMetadata.of(m, false));
+        boolean sampled = !metadata.sensitive() && bodySampleRate > 0 && random.nextDouble() < bodySampleRate;
+        Object body = sampled && metadata.requestBodyIndex() >= 0 ? joinPoint.getArgs()[metadata.requestBodyIndex()] : null;
+        String requestBody = body != null ? requestLogWriter.truncate(body) : null;
 
-        Object response = null;
+        Object response;
         try {
             response = joinPoint.proceed();
-        } catch (HttpMessageNotReadableException ex) {
-            logger.error("Error while processing request: {}", ex.getMessage());
-            throw ex;
-        } catch (Exception ex) {
-            logger.error("Exception occurred in method: {} with message: {}", joinPoint.getSignature().getName(), ex.getMessage());
+        } catch (Throwable ex) {
+            requestLogWriter.publish(new RequestLogEvent(timestamp, requestId, request.getMethod(), request.getRequestURI(),
+                    request.getQueryString(), metadata.name(), requestBody, null, String.valueOf(ex.getMessage()),
+                    System.nanoTime() - startTime));
             throw ex;
         }
 
-        long endTime = System.currentTimeMillis();
-        long executionTime = endTime - startTime;
+        requestLogWriter.publish(new RequestLogEvent(timestamp, requestId, request.getMethod(), request.getRequestURI(),
+                request.getQueryString(), metadata.name(), requestBody,
+                requestLogWriter.describe(request.getRequestURI(), metadata.sensitive(), response, sampled), null,
+                System.nanoTime() - startTime));
+        return response;
+    }
 
-        String loggableResponse = url.contains("/auth") ? "Response from /auth blurred" : (response != null ? response.toString() : "null");
+    private record MethodMetadata(String name, int requestBodyIndex, boolean sensitive) {
 
-        logger.info("Response: {} Execution Time={}ms RequestId={}", loggableResponse, executionTime, requestId);
-        return response;
+        static MethodMetadata of(Method method, boolean sensitive) {
+            Parameter[] parameters = method.getParameters();
+            int requestBodyIndex = -1;
+            for (int i = 0; i < parameters.length; i++) {
+                if (AnnotatedElementUtils.hasAnnotation(parameters[i], RequestBody.class)) {
+                    requestBodyIndex = i;
+                    break;
+                }
+            }
+            return new MethodMetadata(method.getName(), requestBodyIndex, sensitive);
+        }
     }
-}
\ No newline at end of file
+}
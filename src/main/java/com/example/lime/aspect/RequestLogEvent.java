@@ -0,0 +1,18 @@
+package com.example.lime.aspect;
+
+/**
+ * A request as the request thread hands it to {@link RequestLogWriter}. Bodies are serialized up front, and only when
+ * the request was sampled, so a queued event keeps no request or response object alive.
+ */
+record RequestLogEvent(
+        long timestampMillis,
+        int requestId,
+        String method,
+        String uri,
+        String queryString,
+        String handler,
+        String requestBody,
+        String response,
+        String error,
+        long executionNanos) {
+}
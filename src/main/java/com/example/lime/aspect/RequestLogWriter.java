@@ -0,0 +1,212 @@
+package com.example.lime.aspect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Formats and writes request log lines on a background thread. Request threads only enqueue an event into a
+ * bounded queue; when the queue is full the event is dropped and counted instead of blocking the request.
+ */
+@Component
+public class RequestLogWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS'Z'").withZone(ZoneId.of("UTC"));
+    private static final int DRAIN_BATCH = 256;
+
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<RequestLogEvent> queue;
+    private final int maxBodyLength;
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile Thread worker;
+
+    public RequestLogWriter(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${logging.request.queue-capacity:8192}") int queueCapacity,
+                            @Value("${logging.request.max-body-length:1024}") int maxBodyLength) {
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBodyLength = maxBodyLength;
+        Gauge.builder("request.log.dropped", dropped, LongAdder::sum)
+                .description("Request log events dropped because the log queue was full")
+                .register(meterRegistry);
+        Gauge.builder("request.log.queue.size", queue, BlockingQueue::size)
+                .description("Request log events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public void publish(RequestLogEvent event) {
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        Thread thread = new Thread(this::drainLoop, "request-log-writer");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    private void drainLoop() {
+        List<RequestLogEvent> batch = new ArrayList<>(DRAIN_BATCH);
+        while (worker != null) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                batch.forEach(this::write);
+                batch.clear();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                batch.clear();
+                logger.warn("Failed to write request log: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        RequestLogEvent event;
+        while ((event = queue.poll()) != null) {
+            write(event);
+        }
+    }
+
+    private void write(RequestLogEvent event) {
+        String url = event.queryString() == null ? event.uri() : event.uri() + "?" + event.queryString();
+        String requestId = String.format("%06x", event.requestId());
+        long executionTime = TimeUnit.NANOSECONDS.toMillis(event.executionNanos());
+
+        logger.info("Incoming Request: Method={} URL={} Timestamp={} RequestId={}",
+                event.method(), url, formatter.format(Instant.ofEpochMilli(event.timestampMillis())), requestId);
+        if (event.requestBody() != null) {
+            logger.info("Request Body: {}", event.requestBody());
+        }
+        if (event.error() != null) {
+            logger.error("Exception occurred in method: {} with message: {} RequestId={}",
+                    event.handler(), event.error(), requestId);
+            return;
+        }
+        logger.info("Response: {} Execution Time={}ms RequestId={}", event.response(), executionTime, requestId);
+    }
+
+    /**
+     * What to log of {@code response}: its status, and its body only when {@code includeBody}, otherwise the number
+     * of items or the type, which cost next to nothing.
+     */
+    String describe(String uri, boolean sensitive, Object response, boolean includeBody) {
+        if (sensitive) {
+            return "Response from " + uri + " blurred";
+        }
+        String status = "";
+        if (response instanceof ResponseEntity<?> entity) {
+            status = "Status=" + entity.getStatusCode().value() + " ";
+            response = entity.getBody();
+        }
+        if (response == null) {
+            return status + "null";
+        }
+        if (includeBody) {
+            return status + truncate(response);
+        }
+        if (response instanceof Collection<?> collection) {
+            return status + "Items=" + collection.size();
+        }
+        return status + "Type=" + response.getClass().getSimpleName();
+    }
+
+    // serializes at most maxBodyLength characters, so large payloads cost no more than small ones
+    String truncate(Object body) {
+        BoundedWriter writer = new BoundedWriter(maxBodyLength);
+        try {
+            objectMapper.writeValue(writer, body);
+        } catch (IOException | RuntimeException e) {
+            return writer.limitReached
+                    ? writer + "...(truncated)"
+                    : body.getClass().getSimpleName() + " (not serializable)";
+        }
+        return writer.toString();
+    }
+
+    private static final class BoundedWriter extends Writer {
+
+        private final StringBuilder buffer = new StringBuilder();
+        private final int limit;
+        private boolean limitReached;
+
+        private BoundedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int remaining = limit - buffer.length();
+            buffer.append(chars, offset, Math.min(length, remaining));
+            if (length > remaining) {
+                limitReached = true;
+                throw new LimitReachedException();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+
+    private static final class LimitReachedException extends IOException {
+        private LimitReachedException() {
+            super(null, null);
+        }
+    }
+}
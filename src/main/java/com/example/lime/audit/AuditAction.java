@@ -0,0 +1,7 @@
+package com.example.lime.audit;
+
+public enum AuditAction {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,17 @@
+package com.example.lime.audit;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One change to an audited entity. {@code changes} maps attribute names to their value before and after; deletes
+ * made in bulk, without loading the rows, carry no changes.
+ */
+public record AuditEntry(String entityType,
+                         Long entityId,
+                         AuditAction action,
+                         Long version,
+                         Map<String, FieldChange> changes,
+                         String changedBy,
+                         LocalDateTime changedAt) {
+}
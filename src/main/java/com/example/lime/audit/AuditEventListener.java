@@ -0,0 +1,121 @@
+package com.example.lime.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Captures inserts, updates and deletes of {@link Auditable} entities with their before and after state and hands
+ * them to the {@link AuditLogWriter}. Hibernate's post-commit events are used rather than {@code @PreUpdate}: they
+ * carry the state loaded before the change, and rolled back changes never reach the audit log. Only a diff of the
+ * state arrays Hibernate already holds is computed here; serializing and writing happens in the background.
+ * <p>
+ * Bulk statements ({@code deleteAllByIdInBatch}, JPQL updates) bypass these events.
+ */
+@Component
+@ConditionalOnProperty(name = "task.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AuditEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    // already part of every entry, or bookkeeping that changes with every write
+    private static final Set<String> IGNORED_PROPERTIES = Set.of("createdBy", "createdDate", "lastModifiedBy",
+            "lastModifiedDate", "version");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditLogWriter auditLogWriter;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Auditable.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        EntityPersister persister = event.getPersister();
+        Auditable entity = (Auditable) event.getEntity();
+        auditLogWriter.publish(new AuditEntry(entityType(persister), (Long) event.getId(), AuditAction.CREATED,
+                version(persister, event.getState()), diff(persister.getPropertyNames(), null, event.getState()),
+                entity.getCreatedBy(), LocalDateTime.now()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        Map<String, FieldChange> changes = diff(persister.getPropertyNames(), event.getOldState(), event.getState());
+        if (changes.isEmpty()) {
+            return;
+        }
+        Auditable entity = (Auditable) event.getEntity();
+        auditLogWriter.publish(new AuditEntry(entityType(persister), (Long) event.getId(), AuditAction.UPDATED,
+                version(persister, event.getState()), changes, entity.getLastModifiedBy(), LocalDateTime.now()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        EntityPersister persister = event.getPersister();
+        auditLogWriter.publish(new AuditEntry(entityType(persister), (Long) event.getId(), AuditAction.DELETED,
+                version(persister, event.getDeletedState()), diff(persister.getPropertyNames(), event.getDeletedState(), null),
+                AuditListener.currentUser(), LocalDateTime.now()));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    static Map<String, FieldChange> diff(String[] names, Object[] before, Object[] after) {
+        Map<String, FieldChange> changes = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            Object from = before != null ? before[i] : null;
+            Object to = after != null ? after[i] : null;
+            if (!IGNORED_PROPERTIES.contains(names[i]) && !Objects.equals(from, to)) {
+                changes.put(names[i], new FieldChange(from, to));
+            }
+        }
+        return changes;
+    }
+
+    private static String entityType(EntityPersister persister) {
+        return persister.getMappedClass().getSimpleName();
+    }
+
+    private static Long version(EntityPersister persister, Object[] state) {
+        return state != null && persister.isVersioned() ? (Long) state[persister.getVersionProperty()] : null;
+    }
+}
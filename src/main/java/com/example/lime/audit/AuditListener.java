@@ -2,17 +2,20 @@ package com.example.lime.audit;
 
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDateTime;
 
 public class AuditListener {
 
+    public static final String SYSTEM_USER = "system";
+
     @PrePersist
     public void setCreatedOn(Object entity) {
         if (entity instanceof Auditable auditable) {
             auditable.setCreatedDate(LocalDateTime.now());
-            auditable.setCreatedBy(getCurrentUser());
+            auditable.setCreatedBy(currentUser());
         }
     }
 
@@ -20,11 +23,13 @@ public class AuditListener {
     public void setUpdatedOn(Object entity) {
         if (entity instanceof Auditable auditable) {
             auditable.setLastModifiedDate(LocalDateTime.now());
-            auditable.setLastModifiedBy(getCurrentUser());
+            auditable.setLastModifiedBy(currentUser());
         }
     }
 
-    private String getCurrentUser() {
-        return SecurityContextHolder.getContext().getAuthentication().getName();
+    // the security context is thread-bound; scheduled and async work runs without one
+    public static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : SYSTEM_USER;
     }
 }
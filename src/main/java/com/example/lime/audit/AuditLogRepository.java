@@ -0,0 +1,88 @@
+package com.example.lime.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to {@code audit_log}, an append-only table range-partitioned by month on {@code changed_at}, so old
+ * months can be detached or dropped without touching recent ones.
+ */
+@Repository
+@RegisterReflectionForBinding(FieldChange.class)
+@ConditionalOnProperty(name = "task.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AuditLogRepository {
+
+    private static final TypeReference<Map<String, FieldChange>> CHANGES = new TypeReference<>() {
+    };
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS audit_log_" + month.format(PARTITION_SUFFIX)
+                + " PARTITION OF audit_log FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    public void insertAll(List<AuditEntry> entries) {
+        jdbcTemplate.batchUpdate("INSERT INTO audit_log (entity_type, entity_id, action, version, changes, changed_by, changed_at) "
+                        + "VALUES (?, ?, ?, ?, ?::jsonb, ?, ?)",
+                entries, entries.size(), (statement, entry) -> {
+                    statement.setString(1, entry.entityType());
+                    statement.setLong(2, entry.entityId());
+                    statement.setString(3, entry.action().name());
+                    statement.setObject(4, entry.version());
+                    statement.setString(5, toJson(entry.changes()));
+                    statement.setString(6, entry.changedBy());
+                    statement.setTimestamp(7, Timestamp.valueOf(entry.changedAt()));
+                });
+    }
+
+    public List<AuditEntry> findByEntity(String entityType, long entityId, int limit) {
+        return jdbcTemplate.query("SELECT entity_type, entity_id, action, version, changes, changed_by, changed_at "
+                        + "FROM audit_log WHERE entity_type = ? AND entity_id = ? ORDER BY changed_at DESC, id DESC LIMIT ?",
+                this::toEntry, entityType, entityId, limit);
+    }
+
+    private AuditEntry toEntry(ResultSet rs, int rowNum) throws SQLException {
+        return new AuditEntry(
+                rs.getString("entity_type"),
+                rs.getLong("entity_id"),
+                AuditAction.valueOf(rs.getString("action")),
+                rs.getObject("version", Long.class),
+                fromJson(rs.getString("changes")),
+                rs.getString("changed_by"),
+                rs.getTimestamp("changed_at").toLocalDateTime());
+    }
+
+    private String toJson(Map<String, FieldChange> changes) {
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Audit changes are not serializable", e);
+        }
+    }
+
+    private Map<String, FieldChange> fromJson(String changes) {
+        try {
+            return objectMapper.readValue(changes, CHANGES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored audit changes are malformed", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.lime.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit entries to {@code audit_log} on a background thread, in batches of whatever queued up while the
+ * previous batch was being written. Writers only enqueue. When the bounded queue is full, {@code BLOCK} makes the
+ * writer wait up to {@code audit.block-timeout} for room, slowing writes down to what the audit log can absorb,
+ * and {@code DROP} gives up at once; either way entries that do not fit are counted as dropped.
+ */
+@Component
+@ConditionalOnProperty(name = "task.store", havingValue = "jpa", matchIfMissing = true)
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+    private static final int MONTHS_AHEAD = 1;
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP
+    }
+
+    private final AuditLogRepository auditLogRepository;
+    private final BlockingQueue<AuditEntry> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    private volatile Thread worker;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.batch-size:500}") int batchSize,
+                          @Value("${audit.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                          @Value("${audit.block-timeout:PT0.5S}") Duration blockTimeout) {
+        this.auditLogRepository = auditLogRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.written = entries(meterRegistry, "written");
+        this.dropped = entries(meterRegistry, "dropped");
+        this.failed = entries(meterRegistry, "failed");
+        Gauge.builder("audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public void publish(AuditEntry entry) {
+        boolean queued;
+        try {
+            queued = overflowPolicy == OverflowPolicy.BLOCK
+                    ? queue.offer(entry, blockTimeoutNanos, TimeUnit.NANOSECONDS)
+                    : queue.offer(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Publishes {@code entries} once the surrounding transaction has committed, or right away without one; for bulk
+     * statements that Hibernate's events do not see.
+     */
+    public void publishAfterCommit(List<AuditEntry> entries) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entries.forEach(this::publish);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entries.forEach(AuditLogWriter.this::publish);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${audit.partition-cron:0 0 1 * * *}")
+    public void createPartitions() {
+        YearMonth month = YearMonth.now();
+        try {
+            for (int i = 0; i <= MONTHS_AHEAD; i++) {
+                auditLogRepository.createPartition(month.plusMonths(i));
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not create audit log partitions: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        createPartitions();
+        Thread thread = new Thread(this::drainLoop, "audit-log-writer");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    // stops after the web server has finished its in-flight requests, so their changes are still written
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (worker != null) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void write(List<AuditEntry> batch) {
+        try {
+            auditLogRepository.insertAll(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            logger.error("Failed to write {} audit entries: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static Counter entries(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("audit.entries")
+                .description("Audit entries by what became of them")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
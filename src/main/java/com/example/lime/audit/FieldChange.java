@@ -0,0 +1,4 @@
+package com.example.lime.audit;
+
+public record FieldChange(Object from, Object to) {
+}
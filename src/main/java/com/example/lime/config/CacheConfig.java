@@ -0,0 +1,139 @@
+package com.example.lime.config;
+
+import com.example.lime.datasource.PrimaryReads;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Configuration
+// outside the transaction advice: cache hits skip opening a transaction, and puts and evictions happen after commit
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig implements CachingConfigurer {
+
+    public static final String TASK_CACHE = "task";
+    public static final String TASK_PAGES_CACHE = "taskPages";
+
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final Map<Cache, Cache> primaryLoadingCaches = new ConcurrentHashMap<>();
+
+    public CacheConfig(ObjectProvider<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> taskCachesCustomizer(
+            @Value("${task.cache.task-spec:maximumSize=10000,expireAfterWrite=5m,recordStats}") String taskSpec,
+            @Value("${task.cache.pages-spec:maximumSize=500,expireAfterWrite=30s,recordStats}") String pagesSpec) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(TASK_CACHE, Caffeine.from(taskSpec).build());
+            cacheManager.registerCustomCache(TASK_PAGES_CACHE, Caffeine.from(pagesSpec).build());
+        };
+    }
+
+    /**
+     * Loads misses of {@code sync} caches from the primary. A write evicts after it commits, when a replica may not
+     * have it yet; loaded from there, the old state would be cached again until it expires.
+     */
+    @Override
+    public CacheResolver cacheResolver() {
+        return context -> {
+            Collection<Cache> caches = new ArrayList<>();
+            for (String name : context.getOperation().getCacheNames()) {
+                Cache cache = cacheManager.getObject().getCache(name);
+                if (cache == null) {
+                    throw new IllegalArgumentException("Cannot find cache named '" + name + "' for " + context.getOperation());
+                }
+                caches.add(cache instanceof NoOpCache
+                        ? cache : primaryLoadingCaches.computeIfAbsent(cache, PrimaryLoadingCache::new));
+            }
+            return caches;
+        };
+    }
+
+    private record PrimaryLoadingCache(Cache cache) implements Cache {
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return cache.get(key, () -> PrimaryReads.call(valueLoader));
+        }
+
+        @Override
+        public String getName() {
+            return cache.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return cache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return cache.get(key, type);
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return cache.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return cache.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return cache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            cache.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return cache.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            cache.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return cache.invalidate();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.lime.config;
+
+import com.example.lime.datasource.RecentWriters;
+import com.example.lime.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, enabled by listing them in {@code datasource.replicas.urls}. The application's {@link DataSource}
+ * then hands out lazy connections that are bound to the primary, or, inside {@code @Transactional(readOnly = true)},
+ * to a replica; the choice is made on first use, once the transaction's read-only flag is known. Without replicas,
+ * Spring Boot's single pooled data source is left in place.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public RecentWriters recentWriters(@Value("${datasource.replicas.max-lag:PT5S}") Duration maxLag) {
+        return new RecentWriters(maxLag);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      RecentWriters recentWriters,
+                                                      MeterRegistry meterRegistry,
+                                                      @Value("${datasource.replicas.urls}") List<String> urls,
+                                                      @Value("${datasource.replicas.max-lag:PT5S}") Duration maxLag,
+                                                      @Value("${datasource.replicas.connection-timeout:PT2S}") Duration connectionTimeout) {
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            // same credentials and pool settings as the primary
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url);
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            // short, so a replica that went away costs a read little before it falls back to the primary
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            // a replica that is down at startup is only kept out of rotation
+            config.setInitializationFailTimeout(-1);
+            config.setMetricRegistry(null);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, recentWriters, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaDataSource,
+                                 RecentWriters recentWriters) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(recentWriters.tracking(primaryDataSource));
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.lime.datasource;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Keeps the read-only transactions of a call on the primary. For reads whose result outlives them, such as a load
+ * into a cache: a replica that has not replayed the write which emptied the cache would put the old state back.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Callable<T> reads) throws Exception {
+        if (ACTIVE.get() != null) {
+            return reads.call();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return reads.call();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    public static boolean active() {
+        return ACTIVE.get() != null;
+    }
+}
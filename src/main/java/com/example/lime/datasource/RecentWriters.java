@@ -0,0 +1,63 @@
+package com.example.lime.datasource;
+
+import com.example.lime.audit.AuditListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Remembers who committed a write in the last {@code window}, so that their reads stay on the primary until every
+ * replica that is still considered healthy must have caught up with it.
+ */
+public class RecentWriters {
+
+    private static final int MAX_WRITERS = 100_000;
+
+    private final Cache<String, Boolean> writers;
+
+    public RecentWriters(Duration window) {
+        this.writers = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(MAX_WRITERS)
+                .build();
+    }
+
+    public boolean wroteRecently(String user) {
+        return writers.getIfPresent(user) != null;
+    }
+
+    public void recordWrite(String user) {
+        writers.put(user, Boolean.TRUE);
+    }
+
+    /**
+     * Wraps the primary so that each read-write transaction which obtains a connection from it records the current
+     * user once the transaction commits.
+     */
+    public DataSource tracking(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                if (TransactionSynchronizationManager.isSynchronizationActive()
+                        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                    String user = AuditListener.currentUser();
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            recordWrite(user);
+                        }
+                    });
+                }
+                return connection;
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.lime.datasource;
+
+import com.example.lime.audit.AuditListener;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only transactions: round-robin over the replicas that passed their last health
+ * check, falling back to the primary when none did, when the chosen replica refuses a connection, when the
+ * current user has just written and the replicas may not have their change yet, or inside {@link PrimaryReads}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // seconds the replica is behind; 0 when it has replayed everything it received, or when it is not a standby at all
+    private static final String LAG_QUERY = "SELECT CASE WHEN pg_is_in_recovery() "
+            + "AND pg_last_wal_receive_lsn() IS DISTINCT FROM pg_last_wal_replay_lsn() "
+            + "THEN EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) ELSE 0 END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final RecentWriters recentWriters;
+    private final double maxLagSeconds;
+    private final Counter primaryReads;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, RecentWriters recentWriters,
+                                    Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(pool -> new Replica(pool, meterRegistry)).toList();
+        this.recentWriters = recentWriters;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.primaryReads = reads(meterRegistry, "primary");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!replicas.isEmpty() && !PrimaryReads.active() && !recentWriters.wroteRecently(AuditListener.currentUser())) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    replica.reads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    // taken out of rotation until the next health check finds it usable again
+                    replica.healthy = false;
+                    logger.warn("Replica {} refused a connection, reading from elsewhere: {}", replica.pool.getPoolName(), e.getMessage());
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    // replica pools use their own credentials, so connections for other ones can only come from the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryReads.increment();
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet lag = statement.executeQuery(LAG_QUERY)) {
+                lag.next();
+                double seconds = lag.getDouble(1);
+                // no replayed transaction to measure from yet counts as too far behind
+                boolean unknown = lag.wasNull();
+                replica.lagSeconds = unknown ? Double.NaN : seconds;
+                healthy = !unknown && seconds <= maxLagSeconds;
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.NaN;
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                logger.warn("Replica {} is now {}", replica.pool.getPoolName(), healthy ? "in rotation" : "out of rotation");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.reads")
+                .description("Connections handed out for read-only transactions, by database")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private final Counter reads;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        Replica(HikariDataSource pool, MeterRegistry meterRegistry) {
+            this.pool = pool;
+            this.reads = reads(meterRegistry, pool.getPoolName());
+            Gauge.builder("datasource.replica.healthy", this, replica -> replica.healthy ? 1 : 0)
+                    .tag("target", pool.getPoolName())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", this, replica -> replica.lagSeconds)
+                    .tag("target", pool.getPoolName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+}
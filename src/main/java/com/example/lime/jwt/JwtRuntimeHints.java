@@ -0,0 +1,39 @@
+package com.example.lime.jwt;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.stream.Stream;
+
+/**
+ * What jjwt looks up by name, for the native image: {@code Jwts} creates its builders, parsers, headers and claims
+ * from the impl classes reflectively, and finds the Jackson serializer through {@code ServiceLoader}.
+ */
+class JwtRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] REFLECTIVE_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+    };
+
+    private static final String[] SERVICES = {
+            "io.jsonwebtoken.io.Serializer",
+            "io.jsonwebtoken.io.Deserializer",
+            "io.jsonwebtoken.CompressionCodec",
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        Stream.of(REFLECTIVE_TYPES).forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+        Stream.of(SERVICES).forEach(service -> hints.resources().registerPattern("META-INF/services/" + service));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.lime.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers tokens whose signature has already been verified, keyed by a SHA-256 hash of the token so
+ * the raw credential is never held as a map key. Entries are evicted when the token itself expires.
+ */
+@Component
+public class JwtTokenCache {
+
+    private static final Duration MAX_TTL = Duration.ofHours(1);
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+    private final Timer cacheHitTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+
+    public JwtTokenCache(JwtUtil jwtUtil, MeterRegistry meterRegistry, @Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+        this.cacheHitTimer = verificationTimer(meterRegistry, "hit", "valid");
+        this.verifiedTimer = verificationTimer(meterRegistry, "miss", "valid");
+        this.rejectedTimer = verificationTimer(meterRegistry, "miss", "invalid");
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        long startTime = System.nanoTime();
+        String key = hash(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            cacheHitTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return Optional.of(cached);
+        }
+        try {
+            VerifiedToken verified = toVerifiedToken(jwtUtil.parseClaims(token));
+            cache.put(key, verified);
+            verifiedTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            rejectedTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return Optional.empty();
+        }
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String cache, String outcome) {
+        return Timer.builder("jwt.verification")
+                .description("Time spent verifying bearer tokens in the authentication filter")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        List<String> roles = claims.get("roles", List.class);
+        List<SimpleGrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        Instant expiresAt = claims.getExpiration() != null
+                ? claims.getExpiration().toInstant()
+                : Instant.now().plus(MAX_TTL);
+        return new VerifiedToken(claims.getSubject(), authorities, expiresAt);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            Duration untilExpiry = Duration.between(Instant.now(), token.expiresAt());
+            if (untilExpiry.isNegative()) {
+                return 0;
+            }
+            return Math.min(untilExpiry.toNanos(), MAX_TTL.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
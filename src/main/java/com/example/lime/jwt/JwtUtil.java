@@ -2,22 +2,26 @@ package com.example.lime.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Base64;
 import java.util.Date;
-import java.util.List;
 
 @Component
+@ImportRuntimeHints(JwtRuntimeHints.class)
 public class JwtUtil {
 
     private static final String BASE64_ENCODED_SECRET_KEY = "d3JpdHRlbmFub3RoZXJmYWNlc3RvbmVoYW5naW50ZXJlc3RiaXJ0aGRheW1pbmRjb3M=";
     private static final SecretKey key;
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private static final JwtParser parser;
 
     static {
         byte[] decodedKey = Base64.getDecoder().decode(BASE64_ENCODED_SECRET_KEY);
         key = Keys.hmacShaKeyFor(decodedKey);
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateToken(String username, String role) {
@@ -30,26 +34,13 @@ public class JwtUtil {
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
-
-    public List<String> extractRoles(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get("roles", List.class);
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
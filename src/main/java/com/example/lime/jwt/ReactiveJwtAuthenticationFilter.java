@@ -0,0 +1,39 @@
+package com.example.lime.jwt;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter}. Not a bean on purpose: WebFlux would add every
+ * {@link WebFilter} bean to the global chain as well, so it is only registered in the security chain.
+ */
+@RequiredArgsConstructor
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private final JwtTokenCache jwtTokenCache;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+
+            return jwtTokenCache.verify(token)
+                    .map(verified -> {
+                        UsernamePasswordAuthenticationToken auth =
+                                new UsernamePasswordAuthenticationToken(verified.username(), null, verified.authorities());
+
+                        return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
+                    })
+                    .orElseGet(() -> chain.filter(exchange));
+        }
+        return chain.filter(exchange);
+    }
+}
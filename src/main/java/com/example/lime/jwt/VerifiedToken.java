@@ -0,0 +1,9 @@
+package com.example.lime.jwt;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+public record VerifiedToken(String username, List<SimpleGrantedAuthority> authorities, Instant expiresAt) {
+}
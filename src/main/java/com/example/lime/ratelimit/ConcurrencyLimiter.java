@@ -0,0 +1,71 @@
+package com.example.lime.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many requests run at once. Requests over the cap wait in line, in order, for at most the queue time
+ * they are given. The cap can be raised or lowered while requests are running; a lower cap takes effect as they
+ * finish.
+ */
+class ConcurrencyLimiter {
+
+    private final AdjustableSemaphore permits;
+    private int limit;
+
+    ConcurrencyLimiter(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("The concurrency limit must be at least 1");
+        }
+        this.permits = new AdjustableSemaphore(limit);
+        this.limit = limit;
+    }
+
+    /**
+     * Waits up to {@code maxQueueTime} to start; false when the request should be turned away instead.
+     */
+    boolean tryAcquire(Duration maxQueueTime) throws InterruptedException {
+        return permits.tryAcquire(maxQueueTime.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    synchronized int limit() {
+        return limit;
+    }
+
+    synchronized void setLimit(int newLimit) {
+        if (newLimit < 1) {
+            throw new IllegalArgumentException("The concurrency limit must be at least 1");
+        }
+        if (newLimit > limit) {
+            permits.release(newLimit - limit);
+        } else if (newLimit < limit) {
+            permits.reducePermits(limit - newLimit);
+        }
+        limit = newLimit;
+    }
+
+    int inFlight() {
+        return limit() - Math.max(0, permits.availablePermits());
+    }
+
+    int queued() {
+        return permits.getQueueLength();
+    }
+
+    private static class AdjustableSemaphore extends Semaphore {
+
+        AdjustableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.lime.ratelimit;
+
+/**
+ * A token bucket: {@code burst} requests at once, refilled at {@code perSecond}.
+ */
+public record RateLimit(double perSecond, int burst) {
+
+    public RateLimit {
+        if (!(perSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("A rate limit needs perSecond > 0 and burst >= 1");
+        }
+    }
+
+    long intervalNanos() {
+        return Math.max(1, Math.round(1_000_000_000 / perSecond));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.lime.ratelimit;
+
+import com.example.lime.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs right after {@code JwtAuthenticationFilter}, so requests are counted against the token's subject, or against
+ * the client address when there is no valid token. Turned-away requests get a 429 with {@code Retry-After}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Duration SHED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitedEndpoint endpoint = RateLimitedEndpoint.of(request);
+        if (endpoint == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Duration wait = rateLimiter.tryAcquire(subject(request), endpoint);
+        if (!wait.isZero()) {
+            reject(response, wait, "Rate limit exceeded");
+            return;
+        }
+        if (endpoint != RateLimitedEndpoint.LIST) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!rateLimiter.tryStartList()) {
+            reject(response, SHED_RETRY_AFTER, "Too many list requests in progress");
+            return;
+        }
+        boolean releasedLater = false;
+        try {
+            chain.doFilter(request, response);
+            // /tasks/stream keeps writing after this returns, so its slot is freed when the response completes
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new FinishListOnce());
+                releasedLater = true;
+            }
+        } finally {
+            if (!releasedLater) {
+                rateLimiter.finishList();
+            }
+        }
+    }
+
+    private static String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, Duration retryAfter, String message) throws IOException {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(message,
+                HttpStatus.TOO_MANY_REQUESTS.value(), LocalDateTime.now(), List.of("Retry after " + seconds + " s")));
+    }
+
+    // complete and error can both be signalled for one request
+    private class FinishListOnce implements AsyncListener {
+
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finish();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void finish() {
+            if (finished.compareAndSet(false, true)) {
+                rateLimiter.finishList();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.lime.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Set;
+
+/**
+ * The task endpoints grouped by what a request costs the database: each group has its own limits per subject.
+ */
+public enum RateLimitedEndpoint {
+
+    /**
+     * {@code GET /tasks}, {@code /tasks/search}, {@code /tasks/stream} and {@code /tasks/export}: queries over many
+     * rows.
+     */
+    LIST,
+    /** Every other {@code GET} under {@code /tasks}: a row, its history, the statistics or the change feed. */
+    READ,
+    /** Creates, updates and deletes, single and in bulk. */
+    WRITE;
+
+    private static final Set<String> LIST_PATHS = Set.of("/tasks", "/tasks/", "/tasks/search", "/tasks/stream",
+            "/tasks/export");
+
+    /**
+     * The group of the request, or null when it is not for a task endpoint (or is a CORS preflight).
+     */
+    public static RateLimitedEndpoint of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.equals("/tasks") && !path.startsWith("/tasks/") || "OPTIONS".equals(request.getMethod())) {
+            return null;
+        }
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return WRITE;
+        }
+        return LIST_PATHS.contains(path) ? LIST : READ;
+    }
+}
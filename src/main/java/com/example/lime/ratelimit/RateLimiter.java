@@ -0,0 +1,157 @@
+package com.example.lime.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the task endpoints: a token bucket per subject and {@link RateLimitedEndpoint}, and a cap
+ * on concurrent {@link RateLimitedEndpoint#LIST} requests, sized for the connection pool, past which requests wait
+ * in line for at most {@code max-queue-time} and are turned away after that. Every setting can be changed while
+ * running, through {@link RateLimitsEndpoint}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimiter {
+
+    private final TokenBuckets buckets;
+    private final ConcurrencyLimiter listConcurrency;
+    private final Map<RateLimitedEndpoint, Counter> allowed = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Map<RateLimitedEndpoint, Counter> limited = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Counter shed;
+    private final Timer queueTime;
+
+    private volatile Map<RateLimitedEndpoint, RateLimit> limits;
+    private volatile Duration maxQueueTime;
+
+    public RateLimiter(MeterRegistry meterRegistry,
+                       @Value("${ratelimit.list.per-second:20}") double listPerSecond,
+                       @Value("${ratelimit.list.burst:40}") int listBurst,
+                       @Value("${ratelimit.read.per-second:50}") double readPerSecond,
+                       @Value("${ratelimit.read.burst:100}") int readBurst,
+                       @Value("${ratelimit.write.per-second:10}") double writePerSecond,
+                       @Value("${ratelimit.write.burst:20}") int writeBurst,
+                       @Value("${ratelimit.list.max-concurrent:10}") int listMaxConcurrent,
+                       @Value("${ratelimit.list.max-queue-time:100ms}") Duration listMaxQueueTime,
+                       @Value("${ratelimit.max-subjects:100000}") long maxSubjects) {
+        Map<RateLimitedEndpoint, RateLimit> initial = new EnumMap<>(RateLimitedEndpoint.class);
+        initial.put(RateLimitedEndpoint.LIST, new RateLimit(listPerSecond, listBurst));
+        initial.put(RateLimitedEndpoint.READ, new RateLimit(readPerSecond, readBurst));
+        initial.put(RateLimitedEndpoint.WRITE, new RateLimit(writePerSecond, writeBurst));
+        this.limits = Collections.unmodifiableMap(initial);
+        this.buckets = new TokenBuckets(maxSubjects, Duration.ofMinutes(10), System::nanoTime);
+        this.listConcurrency = new ConcurrencyLimiter(listMaxConcurrent);
+        this.maxQueueTime = listMaxQueueTime;
+
+        for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+            allowed.put(endpoint, requests(meterRegistry, endpoint, "allowed"));
+            limited.put(endpoint, requests(meterRegistry, endpoint, "limited"));
+        }
+        this.shed = requests(meterRegistry, RateLimitedEndpoint.LIST, "shed");
+        this.queueTime = Timer.builder("ratelimit.list.queue")
+                .description("Time list requests waited for one of the concurrent slots, including those turned away")
+                .register(meterRegistry);
+        Gauge.builder("ratelimit.list.in_flight", listConcurrency, ConcurrencyLimiter::inFlight)
+                .description("List requests running")
+                .register(meterRegistry);
+        Gauge.builder("ratelimit.list.queued", listConcurrency, ConcurrencyLimiter::queued)
+                .description("List requests waiting for a slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for one request of {@code subject}. Returns zero when the request may go ahead, or else how long
+     * until it would.
+     */
+    public Duration tryAcquire(String subject, RateLimitedEndpoint endpoint) {
+        long waitNanos = buckets.tryAcquire(endpoint.name() + ':' + subject, limits.get(endpoint));
+        if (waitNanos > 0) {
+            limited.get(endpoint).increment();
+            return Duration.ofNanos(waitNanos);
+        }
+        allowed.get(endpoint).increment();
+        return Duration.ZERO;
+    }
+
+    /**
+     * Waits for one of the concurrent list slots; false when the request is to be shed. A true result must be
+     * followed by {@link #finishList()}.
+     */
+    public boolean tryStartList() {
+        long start = System.nanoTime();
+        boolean started;
+        try {
+            started = listConcurrency.tryAcquire(maxQueueTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            started = false;
+        }
+        queueTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!started) {
+            shed.increment();
+        }
+        return started;
+    }
+
+    public void finishList() {
+        listConcurrency.release();
+    }
+
+    public RateLimit limit(RateLimitedEndpoint endpoint) {
+        return limits.get(endpoint);
+    }
+
+    public synchronized void setLimit(RateLimitedEndpoint endpoint, RateLimit limit) {
+        Map<RateLimitedEndpoint, RateLimit> updated = new EnumMap<>(limits);
+        updated.put(endpoint, limit);
+        limits = Collections.unmodifiableMap(updated);
+    }
+
+    public int listMaxConcurrent() {
+        return listConcurrency.limit();
+    }
+
+    public void setListMaxConcurrent(int maxConcurrent) {
+        listConcurrency.setLimit(maxConcurrent);
+    }
+
+    public Duration listMaxQueueTime() {
+        return maxQueueTime;
+    }
+
+    public void setListMaxQueueTime(Duration maxQueueTime) {
+        if (maxQueueTime.isNegative()) {
+            throw new IllegalArgumentException("The queue time cannot be negative");
+        }
+        this.maxQueueTime = maxQueueTime;
+    }
+
+    int listInFlight() {
+        return listConcurrency.inFlight();
+    }
+
+    int listQueued() {
+        return listConcurrency.queued();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, RateLimitedEndpoint endpoint, String outcome) {
+        return Counter.builder("ratelimit.requests")
+                .description("Task requests admitted or turned away by the rate limiter")
+                .tag("endpoint", endpoint.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.lime.ratelimit;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/ratelimits}: reads the current limits, and changes them without a restart, e.g.
+ * {@code POST /actuator/ratelimits/LIST {"perSecond": 5, "maxConcurrent": 4}}. Changes last until the next restart
+ * and apply to this instance only. Admins only.
+ */
+@Component
+@Endpoint(id = "ratelimits")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RateLimitsEndpoint {
+
+    private final RateLimiter rateLimiter;
+
+    @ReadOperation
+    public Map<RateLimitedEndpoint, Settings> limits() {
+        Map<RateLimitedEndpoint, Settings> limits = new EnumMap<>(RateLimitedEndpoint.class);
+        for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+            limits.put(endpoint, settings(endpoint));
+        }
+        return limits;
+    }
+
+    @ReadOperation
+    public Settings limit(@Selector RateLimitedEndpoint endpoint) {
+        return settings(endpoint);
+    }
+
+    @WriteOperation
+    public Settings update(@Selector RateLimitedEndpoint endpoint, @Nullable Double perSecond, @Nullable Integer burst,
+                           @Nullable Integer maxConcurrent, @Nullable Duration maxQueueTime) {
+        if (endpoint != RateLimitedEndpoint.LIST && (maxConcurrent != null || maxQueueTime != null)) {
+            throw new InvalidEndpointRequestException("Only LIST has a concurrency limit",
+                    "maxConcurrent and maxQueueTime apply to LIST only");
+        }
+        try {
+            if (perSecond != null || burst != null) {
+                RateLimit current = rateLimiter.limit(endpoint);
+                rateLimiter.setLimit(endpoint, new RateLimit(perSecond != null ? perSecond : current.perSecond(),
+                        burst != null ? burst : current.burst()));
+            }
+            if (maxConcurrent != null) {
+                rateLimiter.setListMaxConcurrent(maxConcurrent);
+            }
+            if (maxQueueTime != null) {
+                rateLimiter.setListMaxQueueTime(maxQueueTime);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return settings(endpoint);
+    }
+
+    private Settings settings(RateLimitedEndpoint endpoint) {
+        RateLimit limit = rateLimiter.limit(endpoint);
+        if (endpoint != RateLimitedEndpoint.LIST) {
+            return new Settings(limit.perSecond(), limit.burst(), null, null, null, null);
+        }
+        return new Settings(limit.perSecond(), limit.burst(), rateLimiter.listMaxConcurrent(),
+                rateLimiter.listMaxQueueTime(), rateLimiter.listInFlight(), rateLimiter.listQueued());
+    }
+
+    /**
+     * The limits of one endpoint group; the concurrency fields are only set for {@code LIST}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Settings(double perSecond, int burst, Integer maxConcurrent, Duration maxQueueTime,
+                           Integer inFlight, Integer queued) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.lime.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per key, each kept as a single {@link AtomicLong}: the time at which the bucket will be full
+ * again (the generic cell rate algorithm). Taking a token is one compare-and-set on the key's own counter, so
+ * requests of different subjects never contend, and nothing refills buckets in the background.
+ */
+class TokenBuckets {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoTime;
+
+    TokenBuckets(long maxKeys, Duration idleTimeout, LongSupplier nanoTime) {
+        // a bucket left alone for idleTimeout is full again, unless refilling it takes longer than that
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Takes a token from the key's bucket. Returns 0 when there was one, or else how many nanoseconds until there
+     * will be, without taking it.
+     */
+    long tryAcquire(String key, RateLimit limit) {
+        AtomicLong fullAt = buckets.get(key, ignored -> new AtomicLong(nanoTime.getAsLong()));
+        long interval = limit.intervalNanos();
+        long capacity = interval * limit.burst();
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long current = fullAt.get();
+            long next = (current - now < 0 ? now : current) + interval;
+            long excess = next - now - capacity;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
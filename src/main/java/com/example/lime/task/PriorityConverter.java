@@ -0,0 +1,19 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.Priority;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class PriorityConverter implements AttributeConverter<Priority, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Priority priority) {
+        return priority != null ? priority.getCode() : null;
+    }
+
+    @Override
+    public Priority convertToEntityAttribute(Short code) {
+        return code != null ? Priority.fromCode(code) : null;
+    }
+}
@@ -8,10 +8,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
 @Entity
+// the schema, indexes included, is owned by the Flyway migrations in db/migration
 @Table(name = "task")
 @Data
 @Builder
@@ -20,8 +22,11 @@ import java.time.LocalDate;
 @EntityListeners(AuditListener.class)
 public class Task extends Auditable {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String title;
@@ -30,7 +35,13 @@ public class Task extends Auditable {
 
     private LocalDate dueDate;
 
+    @Convert(converter = PriorityConverter.class)
     private Priority priority;
 
     private boolean isCompleted;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
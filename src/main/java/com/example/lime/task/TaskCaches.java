@@ -0,0 +1,64 @@
+package com.example.lime.task;
+
+import com.example.lime.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Programmatic invalidation for writes that touch many tasks at once. Entries are evicted immediately and
+ * again after the surrounding transaction commits, so a concurrent read cannot re-cache the old state.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCaches {
+
+    private final CacheManager cacheManager;
+
+    public void evictTasks(Collection<Long> ids) {
+        List<Long> evicted = List.copyOf(ids);
+        runNowAndAfterCommit(() -> {
+            Cache tasks = cacheManager.getCache(CacheConfig.TASK_CACHE);
+            if (tasks != null) {
+                evicted.forEach(tasks::evict);
+            }
+            clear(CacheConfig.TASK_PAGES_CACHE);
+        });
+    }
+
+    public void evictPages() {
+        runNowAndAfterCommit(() -> clear(CacheConfig.TASK_PAGES_CACHE));
+    }
+
+    public void evictAll() {
+        runNowAndAfterCommit(() -> {
+            clear(CacheConfig.TASK_CACHE);
+            clear(CacheConfig.TASK_PAGES_CACHE);
+        });
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -1,48 +1,167 @@
 package com.example.lime.task;
 
+import com.example.lime.audit.AuditEntry;
+import com.example.lime.task.changes.TaskChangeEmitters;
+import com.example.lime.task.dto.request.BatchUpdateTaskRequest;
 import com.example.lime.task.dto.request.CreateTaskRequest;
 import com.example.lime.task.dto.request.UpdateTaskRequest;
+import com.example.lime.task.dto.response.BatchItemResult;
+import com.example.lime.task.dto.response.TaskPage;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.dto.response.TaskStats;
 import com.example.lime.task.enums.FilterType;
 import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/tasks")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class TaskController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final TaskChangeEmitters changeEmitters;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    ResponseEntity<Task> createTask(@Valid @RequestBody CreateTaskRequest request){
-        return ResponseEntity.ok(taskService.createTask(request));
+    ResponseEntity<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request){
+        return ResponseEntity.ok(TaskResponse.from(taskService.createTask(request)));
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BatchItemResult>> createTasks(@RequestBody List<CreateTaskRequest> requests) {
+        return ResponseEntity.ok(taskService.createTasks(requests));
+    }
+
+    @PatchMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BatchItemResult>> updateTasks(@RequestBody List<BatchUpdateTaskRequest> requests) {
+        return ResponseEntity.ok(taskService.updateTasks(requests));
+    }
+
+    @DeleteMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BatchItemResult>> deleteTasks(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(taskService.deleteTasks(ids));
     }
 
     @GetMapping
-    public ResponseEntity<List<Task>> getTasks(
+    public ResponseEntity<TaskPage> getTasks(
             @RequestParam(required = false) FilterType filter,
             @RequestParam(required = false) String value,
-            @RequestParam(defaultValue = "PRIORITY") SortType sort) {
-        return ResponseEntity.ok(taskService.getTasks(sort, filter, value));
+            @ModelAttribute TaskFilter criteria,
+            @RequestParam(defaultValue = "PRIORITY") SortType sort,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest webRequest) {
+        TaskFilter taskFilter = criteria.and(filter, value);
+        Set<TaskField> taskFields = TaskField.parse(fields);
+        // computed before the page is read, so a concurrent write can only make the tag older than the body
+        String eTag = TaskETags.of(taskService.getTasksVersion(taskFilter), sort, taskFilter, taskFields, cursor, size);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(taskService.getTasks(sort, taskFilter, taskFields, cursor, size));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getStats() {
+        return ResponseEntity.ok(taskService.getStats());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TaskPage> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) FilterType filter,
+            @RequestParam(required = false) String value,
+            @ModelAttribute TaskFilter criteria,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(taskService.searchTasks(q, criteria.and(filter, value), TaskField.parse(fields), cursor, size));
+    }
+
+    // the lines are written with the ObjectMapper directly, which AOT does not see from the signature
+    @GetMapping("/stream")
+    @RegisterReflectionForBinding(TaskResponse.class)
+    public ResponseEntity<StreamingResponseBody> streamTasks(
+            @RequestParam(required = false) FilterType filter,
+            @RequestParam(required = false) String value,
+            @ModelAttribute TaskFilter criteria,
+            @RequestParam(defaultValue = "PRIORITY") SortType sort,
+            @RequestParam(required = false) String fields) {
+        TaskFilter taskFilter = criteria.and(filter, value);
+        Set<TaskField> taskFields = TaskField.parse(fields);
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter lines = writer.writeValues(out)) {
+                taskService.streamTasks(sort, taskFilter, taskFields, task -> {
+                    try {
+                        lines.write(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeEmitters.open(lastEventId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTask(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.getTask(id));
+    public ResponseEntity<TaskResponse> getTask(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(TaskETags.of(taskService.getTaskVersion(id)))) {
+            return null;
+        }
+        TaskResponse task = taskService.getTask(id);
+        return ResponseEntity.ok().eTag(TaskETags.of(task.getVersion())).body(task);
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<AuditEntry>> getTaskHistory(@PathVariable Long id, @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(taskService.getTaskHistory(id, size));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id,@Valid @RequestBody UpdateTaskRequest request) {
-        return ResponseEntity.ok(taskService.updateTask(id, request));
+    public ResponseEntity<TaskResponse> updateTask(@PathVariable Long id,@Valid @RequestBody UpdateTaskRequest request,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task task = taskService.updateTask(id, request, TaskETags.parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(TaskETags.of(task.getVersion())).body(TaskResponse.from(task));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,45 @@
+package com.example.lime.task;
+
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for paging through tasks. The sort keys of the last task on a page
+ * are encoded so that the next page can continue with a range scan instead of an OFFSET.
+ */
+public record TaskCursor(SortType sort, Priority priority, LocalDate dueDate, long id) {
+
+    private static final String SEPARATOR = ":";
+
+    public static TaskCursor of(SortType sort, TaskResponse task) {
+        return new TaskCursor(sort, task.getPriority(), task.getDueDate(), task.getId());
+    }
+
+    public static TaskCursor decode(String token, SortType expectedSort) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            TaskCursor cursor = new TaskCursor(SortType.valueOf(parts[0]), Priority.valueOf(parts[1]),
+                    LocalDate.parse(parts[2]), Long.parseLong(parts[3]));
+            if (cursor.sort() != expectedSort) {
+                throw new IllegalArgumentException("Cursor was issued for sort " + cursor.sort() + ", not " + expectedSort);
+            }
+            return cursor;
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + e.getMessage(), e);
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + priority.name() + SEPARATOR + dueDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
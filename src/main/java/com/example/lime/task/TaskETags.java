@@ -0,0 +1,46 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+public final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * A weak tag: pages are never used for {@code If-Match}, and Tomcat only compresses responses without a strong one.
+     */
+    public static String of(TaskSetVersion setVersion, SortType sort, TaskFilter filter, Set<TaskField> fields,
+                            String cursor, int size) {
+        String state = setVersion.count() + "|" + setVersion.lastModified() + "|" + sort + "|" + filter + "|" + fields
+                + "|" + cursor + "|" + size;
+        return "W/\"" + DigestUtils.md5DigestAsHex(state.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Returns the task version an {@code If-Match} header asks for, or {@code null} when any version is acceptable.
+     */
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Match must be a single quoted entity tag, got " + ifMatch);
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match does not hold a task version: " + ifMatch);
+        }
+    }
+}
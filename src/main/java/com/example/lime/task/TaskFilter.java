@@ -0,0 +1,58 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.FilterType;
+import com.example.lime.task.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskFilter {
+
+    private Boolean completed;
+
+    // null for any priority; an empty set, left by contradicting filters, for none
+    private Set<Priority> priority;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    private String createdBy;
+
+    // a bound but empty ?priority= asks for no particular priority
+    public void setPriority(Set<Priority> priority) {
+        this.priority = priority == null || priority.isEmpty() ? null : priority;
+    }
+
+    public static TaskFilter of(FilterType filter, String value) {
+        return new TaskFilter().and(filter, value);
+    }
+
+    public TaskFilter and(FilterType filter, String value) {
+        if (filter == null || value == null) {
+            return this;
+        }
+        switch (filter) {
+            case IS_COMPLETED -> completed = Boolean.parseBoolean(value);
+            case PRIORITY -> {
+                // both filters apply, so only the legacy priority can remain, and only if the criteria allow it
+                Priority legacy = Priority.valueOf(value);
+                priority = priority == null || priority.isEmpty() || priority.contains(legacy)
+                        ? EnumSet.of(legacy) : EnumSet.noneOf(Priority.class);
+            }
+        }
+        return this;
+    }
+}
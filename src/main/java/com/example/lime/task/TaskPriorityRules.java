@@ -0,0 +1,49 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.Priority;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public final class TaskPriorityRules {
+
+    public static final int HIGH_WITHIN_DAYS = 0;
+    public static final int MEDIUM_WITHIN_DAYS = 7;
+
+    private TaskPriorityRules() {
+    }
+
+    public static Priority calculate(boolean isCritical, boolean isCompleted, LocalDate dueDate, LocalDate today) {
+        if (isCompleted) return Priority.LOW;
+        if (isCritical) return Priority.HIGH;
+
+        long daysUntilDue = ChronoUnit.DAYS.between(today, dueDate);
+        return daysUntilDue <= HIGH_WITHIN_DAYS ? Priority.HIGH :
+                daysUntilDue <= MEDIUM_WITHIN_DAYS ? Priority.MEDIUM : Priority.LOW;
+    }
+
+    /**
+     * {@link #calculate} as a SQL expression over the given column expressions, yielding the priority code. The date
+     * is written into the statement rather than bound, so that {@code COPY} can use it as well.
+     */
+    public static String sql(String isCritical, String isCompleted, String dueDate, LocalDate today) {
+        String daysUntilDue = "(" + dueDate + " - DATE '" + today + "')";
+        return "CASE WHEN " + isCompleted + " THEN " + Priority.LOW.getCode()
+                + " WHEN " + isCritical + " THEN " + Priority.HIGH.getCode()
+                + " WHEN " + daysUntilDue + " <= " + HIGH_WITHIN_DAYS + " THEN " + Priority.HIGH.getCode()
+                + " WHEN " + daysUntilDue + " <= " + MEDIUM_WITHIN_DAYS + " THEN " + Priority.MEDIUM.getCode()
+                + " ELSE " + Priority.LOW.getCode() + " END";
+    }
+
+    /**
+     * The name of the priority whose code is {@code code}, a SQL expression, as it appears in responses and the
+     * audit log.
+     */
+    public static String sqlName(String code) {
+        StringBuilder sql = new StringBuilder("CASE " + code);
+        for (Priority priority : Priority.values()) {
+            sql.append(" WHEN ").append(priority.getCode()).append(" THEN '").append(priority.name()).append('\'');
+        }
+        return sql.append(" END").toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.lime.task;
+
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface TaskQueryRepository {
+
+    /**
+     * Reads only the given columns, plus the sort keys the cursor is built from.
+     */
+    List<TaskResponse> findPage(Specification<Task> spec, SortType sort, TaskCursor after, int limit, Set<TaskField> fields);
+
+    Stream<TaskResponse> stream(Specification<Task> spec, SortType sort, Set<TaskField> fields);
+
+    TaskSetVersion findSetVersion(Specification<Task> spec);
+
+    List<TaskSearchHit> search(String prefixQuery, TaskFilter filter, TaskSearchCursor after, int limit, Set<TaskField> fields);
+
+    /**
+     * Sets open tasks due on one of {@code dueDates} with a priority in {@code from} to {@code to}, recording each
+     * change in the audit log. Returns the number of tasks changed.
+     */
+    int escalatePriority(Collection<Priority> from, Priority to, Collection<LocalDate> dueDates,
+                         LocalDateTime modifiedAt, String modifiedBy);
+
+    /**
+     * {@link #escalatePriority} for open tasks due on or before {@code dueOnOrBefore}.
+     */
+    int escalatePriorityDueOnOrBefore(Collection<Priority> from, Priority to, LocalDate dueOnOrBefore,
+                                      LocalDateTime modifiedAt, String modifiedBy);
+}
@@ -0,0 +1,214 @@
+package com.example.lime.task;
+
+import com.example.lime.audit.AuditAction;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TaskResponse> findPage(Specification<Task> spec, SortType sort, TaskCursor after, int limit, Set<TaskField> fields) {
+        Set<TaskField> selected = TaskField.withSortKeys(fields);
+        return createQuery(spec, sort, after, selected)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> toResponse(row, selected))
+                .toList();
+    }
+
+    @Override
+    public Stream<TaskResponse> stream(Specification<Task> spec, SortType sort, Set<TaskField> fields) {
+        // Only the selected columns are read, into plain objects rather than managed entities, so the
+        // persistence context stays empty and memory use does not grow with the size of the table.
+        return createQuery(spec, sort, null, fields)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream()
+                .map(row -> toResponse(row, fields));
+    }
+
+    @Override
+    public TaskSetVersion findSetVersion(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        Expression<Long> count = cb.count(root);
+        Expression<LocalDateTime> lastModified = cb.greatest(
+                cb.coalesce(root.<LocalDateTime>get("lastModifiedDate"), root.<LocalDateTime>get("createdDate")));
+        query.multiselect(count, lastModified);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        Tuple result = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getSingleResult();
+        return new TaskSetVersion(result.get(count), result.get(lastModified));
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String prefixQuery, TaskFilter filter, TaskSearchCursor after, int limit,
+                                      Set<TaskField> fields) {
+        TaskSearch.Query search = TaskSearch.select("id", prefixQuery, filter, after);
+        Query query = entityManager.createNativeQuery(search.sql() + " LIMIT :limit", Tuple.class)
+                .setParameter("limit", limit);
+        search.params().forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        // the ranked ids come from the GIN index; the rows themselves are then read by primary key
+        List<Long> ids = rows.stream().map(row -> row.get("id", Long.class)).toList();
+        Set<TaskField> selected = EnumSet.copyOf(fields);
+        selected.add(TaskField.ID);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> byIds = cb.createTupleQuery();
+        Root<Task> root = byIds.from(Task.class);
+        byIds.multiselect(select(root, selected)).where(root.get("id").in(ids));
+        Map<Long, TaskResponse> tasks = entityManager.createQuery(byIds)
+                .getResultStream()
+                .map(row -> toResponse(row, selected))
+                .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+        List<TaskSearchHit> hits = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            TaskResponse task = tasks.get(row.get("id", Long.class));
+            if (task != null) {
+                hits.add(new TaskSearchHit(task, row.get("rank", Float.class)));
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    @Transactional
+    public int escalatePriority(Collection<Priority> from, Priority to, Collection<LocalDate> dueDates,
+                                LocalDateTime modifiedAt, String modifiedBy) {
+        return escalate("due_date IN (:dueDates)", from, to, modifiedAt, modifiedBy)
+                .setParameter("dueDates", dueDates)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int escalatePriorityDueOnOrBefore(Collection<Priority> from, Priority to, LocalDate dueOnOrBefore,
+                                             LocalDateTime modifiedAt, String modifiedBy) {
+        return escalate("due_date <= :dueOnOrBefore", from, to, modifiedAt, modifiedBy)
+                .setParameter("dueOnOrBefore", dueOnOrBefore)
+                .executeUpdate();
+    }
+
+    /**
+     * A bulk update skips the entity events the audit listener hangs off, so the statement writes the entries the
+     * listener would have: one UPDATED entry per task, with its new version and the priority change.
+     */
+    private Query escalate(String dueCondition, Collection<Priority> from, Priority to, LocalDateTime modifiedAt,
+                           String modifiedBy) {
+        String sql = "WITH escalated AS (UPDATE task t SET priority = :to, version = t.version + 1, "
+                + "last_modified_date = :modifiedAt, last_modified_by = :modifiedBy "
+                + "FROM (SELECT id, priority FROM task WHERE is_completed = false AND priority IN (:from) AND "
+                + dueCondition + " FOR UPDATE) old "
+                + "WHERE t.id = old.id RETURNING t.id, t.version, old.priority AS old_priority) "
+                + "INSERT INTO audit_log (entity_type, entity_id, action, version, changes, changed_by, changed_at) "
+                + "SELECT '" + Task.class.getSimpleName() + "', id, '" + AuditAction.UPDATED.name() + "', version, "
+                + "jsonb_build_object('priority', jsonb_build_object('from', "
+                + TaskPriorityRules.sqlName("old_priority") + ", 'to', '" + to.name() + "')), :modifiedBy, :modifiedAt "
+                + "FROM escalated";
+        return entityManager.createNativeQuery(sql)
+                .setParameter("to", to.getCode())
+                .setParameter("from", from.stream().map(Priority::getCode).toList())
+                .setParameter("modifiedAt", modifiedAt)
+                .setParameter("modifiedBy", modifiedBy);
+    }
+
+    private TypedQuery<Tuple> createQuery(Specification<Task> spec, SortType sort, TaskCursor after, Set<TaskField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        Path<Priority> priority = root.get("priority");
+        Path<LocalDate> dueDate = root.get("dueDate");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+
+        if (sort == SortType.DUE_DATE) {
+            if (after != null) {
+                predicates.add(after(cb, dueDate, after.dueDate(),
+                        after(cb, priority, after.priority(), cb.greaterThan(id, after.id()))));
+            }
+            query.orderBy(cb.asc(dueDate), cb.asc(priority), cb.asc(id));
+        } else {
+            if (after != null) {
+                predicates.add(after(cb, priority, after.priority(),
+                        after(cb, dueDate, after.dueDate(), cb.greaterThan(id, after.id()))));
+            }
+            query.orderBy(cb.asc(priority), cb.asc(dueDate), cb.asc(id));
+        }
+
+        query.multiselect(select(root, fields)).where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(query);
+    }
+
+    private static List<Selection<?>> select(Root<Task> root, Set<TaskField> fields) {
+        return fields.stream()
+                .<Selection<?>>map(field -> root.get(field.getAttribute()).alias(field.name()))
+                .toList();
+    }
+
+    private static TaskResponse toResponse(Tuple row, Set<TaskField> fields) {
+        TaskResponse response = new TaskResponse();
+        for (TaskField field : fields) {
+            response.set(field, row.get(field.name()));
+        }
+        return response;
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder cb, Path<Y> key, Y value, Predicate tieBreaker) {
+        return cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), tieBreaker));
+    }
+}
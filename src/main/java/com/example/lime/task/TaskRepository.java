@@ -1,16 +1,30 @@
 package com.example.lime.task;
 
-import com.example.lime.task.enums.Priority;
-import org.springframework.data.domain.Sort;
+import com.example.lime.task.stats.TaskStatsRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskQueryRepository {
 
-    List<Task> findAllByIsCompleted(boolean isCompleted);
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.example.lime.task.stats.TaskStatsRow(t.priority, t.isCompleted, t.dueDate, count(t)) " +
+            "from Task t group by t.priority, t.isCompleted, t.dueDate")
+    List<TaskStatsRow> countByStatsKey();
+
+    @Query("select new com.example.lime.task.stats.TaskStatsRow(t.priority, t.isCompleted, t.dueDate, count(t)) " +
+            "from Task t where t.id in :ids group by t.priority, t.isCompleted, t.dueDate")
+    List<TaskStatsRow> countByStatsKey(@Param("ids") Collection<Long> ids);
 
-    List<Task> findAllByPriority(Priority priority);
 }
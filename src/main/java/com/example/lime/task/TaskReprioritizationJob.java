@@ -0,0 +1,159 @@
+package com.example.lime.task;
+
+import com.example.lime.audit.AuditListener;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.stats.TaskStatsCounters;
+import com.example.lime.task.store.TaskStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the stored priority in line with {@link TaskPriorityRules} as days pass. Only tasks whose due date
+ * crossed one of the bucket boundaries since the previous run are touched, using bulk updates rather than
+ * loading entities. Priorities only ever escalate with time, so critical tasks already at HIGH are left alone.
+ * The same statements record each change in the audit log, so it shows up in the task history.
+ */
+@Component
+@ConditionalOnProperty(name = "task.reprioritization.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskReprioritizationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskReprioritizationJob.class);
+
+    static final String SYSTEM_USER = AuditListener.SYSTEM_USER;
+    static final int MAX_INCREMENTAL_DAYS = 31;
+
+    private static final Set<Priority> BELOW_HIGH = EnumSet.of(Priority.MEDIUM, Priority.LOW);
+    private static final Set<Priority> BELOW_MEDIUM = EnumSet.of(Priority.LOW);
+
+    private final TaskStore taskStore;
+    private final TaskCaches taskCaches;
+    private final TaskStatsCounters taskStatsCounters;
+    private final int datesPerStatement;
+    private final Timer runTimer;
+    private final Counter escalatedToHigh;
+    private final Counter escalatedToMedium;
+
+    // not synchronized: blocking on JDBC while holding a monitor pins a virtual thread to its carrier
+    private final Lock runLock = new ReentrantLock();
+    private LocalDate lastRunDate;
+
+    public TaskReprioritizationJob(TaskStore taskStore,
+                                   TaskCaches taskCaches,
+                                   TaskStatsCounters taskStatsCounters,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${task.reprioritization.dates-per-statement:16}") int datesPerStatement) {
+        this.taskStore = taskStore;
+        this.taskCaches = taskCaches;
+        this.taskStatsCounters = taskStatsCounters;
+        this.datesPerStatement = datesPerStatement;
+        this.runTimer = Timer.builder("task.reprioritization.duration")
+                .description("Time taken by a reprioritization run")
+                .register(meterRegistry);
+        this.escalatedToHigh = Counter.builder("task.reprioritization.rows")
+                .description("Tasks whose priority was escalated by the reprioritization job")
+                .tag("priority", Priority.HIGH.name())
+                .register(meterRegistry);
+        this.escalatedToMedium = Counter.builder("task.reprioritization.rows")
+                .description("Tasks whose priority was escalated by the reprioritization job")
+                .tag("priority", Priority.MEDIUM.name())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reprioritizeOnStartup() {
+        try {
+            reprioritize();
+        } catch (RuntimeException ex) {
+            logger.error("Startup reprioritization failed, will retry on schedule: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${task.reprioritization.cron:0 5 0 * * *}")
+    public void reprioritize() {
+        run(LocalDate.now());
+    }
+
+    int run(LocalDate today) {
+        runLock.lock();
+        try {
+            return runLocked(today);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private int runLocked(LocalDate today) {
+        if (lastRunDate != null && !lastRunDate.isBefore(today)) {
+            return 0;
+        }
+        long startTime = System.nanoTime();
+        LocalDateTime modifiedAt = LocalDateTime.now();
+
+        int toHigh;
+        int toMedium;
+        if (lastRunDate == null || ChronoUnit.DAYS.between(lastRunDate, today) > MAX_INCREMENTAL_DAYS) {
+            // nothing is known about earlier runs, so catch up on every task at or past a boundary
+            toHigh = taskStore.escalatePriorityDueOnOrBefore(BELOW_HIGH, Priority.HIGH,
+                    today.plusDays(TaskPriorityRules.HIGH_WITHIN_DAYS), modifiedAt, SYSTEM_USER);
+            toMedium = taskStore.escalatePriorityDueOnOrBefore(BELOW_MEDIUM, Priority.MEDIUM,
+                    today.plusDays(TaskPriorityRules.MEDIUM_WITHIN_DAYS), modifiedAt, SYSTEM_USER);
+        } else {
+            toHigh = escalate(BELOW_HIGH, Priority.HIGH,
+                    crossedDueDates(lastRunDate, today, TaskPriorityRules.HIGH_WITHIN_DAYS), modifiedAt);
+            toMedium = escalate(BELOW_MEDIUM, Priority.MEDIUM,
+                    crossedDueDates(lastRunDate, today, TaskPriorityRules.MEDIUM_WITHIN_DAYS), modifiedAt);
+        }
+        lastRunDate = today;
+        if (toHigh + toMedium > 0) {
+            taskCaches.evictAll();
+            // the bulk updates bypass the counters' change tracking; expected, so not reported as drift
+            taskStatsCounters.reconcile();
+        }
+
+        long elapsed = System.nanoTime() - startTime;
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        escalatedToHigh.increment(toHigh);
+        escalatedToMedium.increment(toMedium);
+        logger.info("Reprioritization for {}: {} tasks to HIGH, {} tasks to MEDIUM in {}ms",
+                today, toHigh, toMedium, elapsed / 1_000_000);
+        return toHigh + toMedium;
+    }
+
+    private int escalate(Set<Priority> from, Priority to, List<LocalDate> dueDates, LocalDateTime modifiedAt) {
+        int updated = 0;
+        for (int i = 0; i < dueDates.size(); i += datesPerStatement) {
+            List<LocalDate> batch = dueDates.subList(i, Math.min(i + datesPerStatement, dueDates.size()));
+            updated += taskStore.escalatePriority(from, to, batch, modifiedAt, SYSTEM_USER);
+        }
+        return updated;
+    }
+
+    // due dates whose distance to "today" dropped to the boundary since the last run
+    private static List<LocalDate> crossedDueDates(LocalDate lastRun, LocalDate today, int boundaryDays) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate day = lastRun.plusDays(1); !day.isAfter(today); day = day.plusDays(1)) {
+            dates.add(day.plusDays(boundaryDays));
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.lime.task;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds full-text searches over the {@code search_vector} column (title weighted above description, see
+ * {@code db/migration/V2__task_search.sql}). Every word of the search text must match as a word prefix, so results
+ * narrow down while the user is still typing. Results are ordered by {@code ts_rank_cd}, then id.
+ */
+public final class TaskSearch {
+
+    public static final int MAX_TERMS = 16;
+
+    private TaskSearch() {
+    }
+
+    /**
+     * Splits free text into the words to search for. Anything but letters and digits separates words, so the text
+     * cannot inject tsquery operators.
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty() && terms.size() < MAX_TERMS) {
+                    terms.add(word);
+                }
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain at least one word");
+        }
+        return terms;
+    }
+
+    /**
+     * Turns free text into a {@code to_tsquery} expression of prefix terms, e.g. {@code "fix lo"} into
+     * {@code "fix:* & lo:*"}.
+     */
+    public static String prefixQuery(String text) {
+        return prefixQuery(terms(text));
+    }
+
+    public static String prefixQuery(List<String> terms) {
+        return terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * Selects {@code columns} plus the rank as {@code rank} for tasks matching {@code prefixQuery} and
+     * {@code filter}, continuing after {@code after}. The caller appends the LIMIT.
+     */
+    public static Query select(String columns, String prefixQuery, TaskFilter filter, TaskSearchCursor after) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("query", prefixQuery);
+        List<String> conditions = new ArrayList<>();
+        conditions.add("search_vector @@ query");
+        conditions.addAll(TaskSqlFilter.conditions(filter, params));
+        if (after != null) {
+            conditions.add("(ts_rank_cd(search_vector, query), id) < (:afterRank, :afterId)");
+            params.put("afterRank", after.rank());
+            params.put("afterId", after.id());
+        }
+        String sql = "SELECT " + columns + ", ts_rank_cd(search_vector, query) AS rank "
+                + "FROM task, to_tsquery('english', :query) query "
+                + "WHERE " + String.join(" AND ", conditions)
+                + " ORDER BY rank DESC, id DESC";
+        return new Query(sql, params);
+    }
+
+    public record Query(String sql, Map<String, Object> params) {
+    }
+}
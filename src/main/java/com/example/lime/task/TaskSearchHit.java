@@ -0,0 +1,6 @@
+package com.example.lime.task;
+
+import com.example.lime.task.dto.response.TaskResponse;
+
+public record TaskSearchHit(TaskResponse task, float rank) {
+}
@@ -1,71 +1,270 @@
 package com.example.lime.task;
 
+import com.example.lime.audit.AuditEntry;
+import com.example.lime.config.CacheConfig;
+import com.example.lime.task.dto.request.BatchUpdateTaskRequest;
 import com.example.lime.task.dto.request.CreateTaskRequest;
 import com.example.lime.task.dto.request.UpdateTaskRequest;
-import com.example.lime.task.enums.FilterType;
+import com.example.lime.task.dto.response.BatchItemResult;
+import com.example.lime.task.dto.response.TaskPage;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.dto.response.TaskStats;
+import com.example.lime.task.enums.BatchItemStatus;
 import com.example.lime.task.enums.Priority;
 import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import com.example.lime.task.stats.TaskStatsCounters;
+import com.example.lime.task.store.TaskStore;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
-    private final TaskRepository taskRepository;
+    public static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BATCH_SIZE = 5000;
+
+    private final TaskStore taskStore;
+    private final Validator validator;
+    private final TaskCaches taskCaches;
+    private final TaskStatsCounters taskStatsCounters;
+
+    @CacheEvict(cacheNames = CacheConfig.TASK_PAGES_CACHE, allEntries = true)
     Task createTask(CreateTaskRequest request) {
-        Task task = Task.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .isCompleted(false)
-                .dueDate(request.getDueDate())
-                .priority(calculatePriority(request.isCritical(), false,request.getDueDate()))
-                .build();
+        return taskStore.save(newTask(request));
+    }
+    @Transactional
+    public List<BatchItemResult> createTasks(List<CreateTaskRequest> requests) {
+        checkBatchSize(requests);
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        List<Task> tasks = new ArrayList<>();
+        List<BatchItemResult> created = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            if (!errors.isEmpty()) {
+                results.add(new BatchItemResult(i, null, BatchItemStatus.INVALID, errors));
+                continue;
+            }
+            BatchItemResult result = new BatchItemResult(i, null, BatchItemStatus.CREATED, List.of());
+            tasks.add(newTask(requests.get(i)));
+            created.add(result);
+            results.add(result);
+        }
+        List<Task> saved = taskStore.saveAll(tasks);
+        for (int i = 0; i < saved.size(); i++) {
+            created.get(i).setId(saved.get(i).getId());
+        }
+        taskCaches.evictPages();
+        return results;
+    }
+    // only first pages are cached: they are what polling clients ask for over and over, so misses load once
+    @Cacheable(cacheNames = CacheConfig.TASK_PAGES_CACHE, key = "{#sortBy, #filter, #fields, #size}",
+            condition = "#cursor == null", sync = true)
+    @Transactional(readOnly = true)
+    public TaskPage getTasks(SortType sortBy, TaskFilter filter, Set<TaskField> fields, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        TaskCursor after = cursor != null ? TaskCursor.decode(cursor, sortBy) : null;
 
-        return taskRepository.save(task);
+        // one extra row tells us whether another page exists without a separate count query
+        List<TaskResponse> tasks = taskStore.findPage(filter, sortBy, after, limit + 1, fields);
+        String nextCursor = null;
+        if (tasks.size() > limit) {
+            tasks = tasks.subList(0, limit);
+            nextCursor = TaskCursor.of(sortBy, tasks.get(limit - 1)).encode();
+        }
+        return new TaskPage(retain(tasks, fields), nextCursor);
     }
-    public List<Task> getTasks(SortType sortBy, FilterType filter, String value) {
+    @Transactional(readOnly = true)
+    public TaskPage searchTasks(String text, TaskFilter filter, Set<TaskField> fields, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<String> terms = TaskSearch.terms(text);
+        TaskSearchCursor after = cursor != null ? TaskSearchCursor.decode(cursor) : null;
 
-        if (filter != null && value != null) {
-            return switch (filter) {
-                case IS_COMPLETED -> taskRepository.findAllByIsCompleted(Boolean.parseBoolean(value));
-                case PRIORITY -> taskRepository.findAllByPriority(Priority.valueOf(value));
-            };
+        List<TaskSearchHit> hits = taskStore.search(terms, filter, after, limit + 1, fields);
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            TaskSearchHit last = hits.get(limit - 1);
+            nextCursor = new TaskSearchCursor(last.rank(), last.task().getId()).encode();
+        }
+        List<TaskResponse> tasks = hits.stream().limit(limit).map(TaskSearchHit::task).toList();
+        return new TaskPage(retain(tasks, fields), nextCursor);
+    }
+    @Transactional(readOnly = true)
+    public void streamTasks(SortType sortBy, TaskFilter filter, Set<TaskField> fields, Consumer<TaskResponse> consumer) {
+        try (Stream<TaskResponse> tasks = taskStore.stream(filter, sortBy, fields)) {
+            tasks.forEach(consumer);
         }
-        Sort sort = Sort.by(sortBy.getStringValue());
-        return taskRepository.findAll(sort);
     }
-    public Task getTask(Long id) {
-       return taskRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Task with ID " + id + " not found"));
+    // a snapshot rather than the entity; synchronized, so an eviction waits for a load in progress and drops it too
+    @Cacheable(cacheNames = CacheConfig.TASK_CACHE, key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    public TaskResponse getTask(Long id) {
+       return taskStore.findById(id).map(TaskResponse::from)
+               .orElseThrow(() -> new EntityNotFoundException("Task with ID " + id + " not found"));
+    }
+    public TaskStats getStats() {
+        return taskStatsCounters.stats();
     }
+
+    // newest first
+    @Transactional(readOnly = true)
+    public List<AuditEntry> getTaskHistory(Long id, int size) {
+        return taskStore.findHistory(id, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    @Transactional(readOnly = true)
+    public Long getTaskVersion(Long id) {
+        return taskStore.findVersionById(id).orElseThrow(() -> new EntityNotFoundException("Task with ID " + id + " not found"));
+    }
+    @Transactional(readOnly = true)
+    public TaskSetVersion getTasksVersion(TaskFilter filter) {
+        return taskStore.findSetVersion(filter);
+    }
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASK_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TASK_PAGES_CACHE, allEntries = true)
+    })
+    @Transactional
     public void deleteTask(Long id) {
-        taskRepository.delete(taskRepository.findById(id)
+        taskStore.delete(taskStore.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Task with ID " + id + " not found")));
     }
-    public Task updateTask(Long id, UpdateTaskRequest request) {
-        return taskRepository.findById(id)
+    @Transactional
+    public List<BatchItemResult> deleteTasks(List<Long> ids) {
+        checkBatchSize(ids);
+        Set<Long> existing = new HashSet<>(taskStore.findExistingIds(new LinkedHashSet<>(ids)));
+        if (!existing.isEmpty()) {
+            taskStatsCounters.removeAfterCommit(taskStore.countByStatsKey(existing));
+        }
+        taskStore.deleteAllById(existing);
+        taskCaches.evictTasks(existing);
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            results.add(existing.contains(id)
+                    ? new BatchItemResult(i, id, BatchItemStatus.DELETED, List.of())
+                    : new BatchItemResult(i, id, BatchItemStatus.NOT_FOUND, List.of("Task with ID " + id + " not found")));
+        }
+        return results;
+    }
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASK_CACHE, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TASK_PAGES_CACHE, allEntries = true)
+    })
+    @Transactional
+    public Task updateTask(Long id, UpdateTaskRequest request, Long expectedVersion) {
+        return taskStore.findById(id)
                 .map(task -> {
-                    task.setTitle(request.getTitle());
-                    task.setDescription(request.getDescription());
-                    task.setDueDate(request.getDueDate());
-                    task.setCompleted(request.isCompleted());
-                    task.setPriority(calculatePriority(request.isCritical(),request.isCompleted(),request.getDueDate()));
-                    return taskRepository.save(task);
+                    if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                        throw new OptimisticLockingFailureException("Task with ID " + id + " is at version "
+                                + task.getVersion() + ", not " + expectedVersion);
+                    }
+                    // the flush re-checks the version, so a write slipping in after the load fails too
+                    applyUpdate(task, request);
+                    return taskStore.save(task);
                 }).orElseThrow(() -> new EntityNotFoundException("Task with ID " + id + " not found"));
     }
-    protected Priority calculatePriority(boolean isCritical, boolean isCompleted, LocalDate dueDate) {
-        if (isCompleted) return Priority.LOW;
-        if (isCritical) return Priority.HIGH;
+    @Transactional
+    public List<BatchItemResult> updateTasks(List<BatchUpdateTaskRequest> requests) {
+        checkBatchSize(requests);
+        Set<Long> ids = requests.stream()
+                .map(BatchUpdateTaskRequest::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskStore.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
 
-        long daysUntilDue = ChronoUnit.DAYS.between(LocalDate.now(), dueDate);
-        return daysUntilDue <= 0 ? Priority.HIGH :
-                daysUntilDue <= 7 ? Priority.MEDIUM : Priority.LOW;
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        List<Task> updated = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BatchUpdateTaskRequest request = requests.get(i);
+            List<String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                results.add(new BatchItemResult(i, request.getId(), BatchItemStatus.INVALID, errors));
+                continue;
+            }
+            Task task = tasks.get(request.getId());
+            if (task == null) {
+                results.add(new BatchItemResult(i, request.getId(), BatchItemStatus.NOT_FOUND,
+                        List.of("Task with ID " + request.getId() + " not found")));
+                continue;
+            }
+            applyUpdate(task, request.toUpdateRequest());
+            updated.add(task);
+            results.add(new BatchItemResult(i, task.getId(), BatchItemStatus.UPDATED, List.of()));
+        }
+        // with JPA the entities are managed already and flushed as batched UPDATEs at commit
+        taskStore.saveAll(updated);
+        taskCaches.evictTasks(tasks.keySet());
+        return results;
+    }
+    private Task newTask(CreateTaskRequest request) {
+        return Task.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .isCompleted(false)
+                .dueDate(request.getDueDate())
+                .priority(calculatePriority(request.isCritical(), false,request.getDueDate()))
+                .build();
+    }
+    private void applyUpdate(Task task, UpdateTaskRequest request) {
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setDueDate(request.getDueDate());
+        task.setCompleted(request.isCompleted());
+        task.setPriority(calculatePriority(request.isCritical(),request.isCompleted(),request.getDueDate()));
+    }
+    // drops the keys that were only read for the cursor
+    public static List<TaskResponse> retain(List<TaskResponse> tasks, Set<TaskField> fields) {
+        List<TaskResponse> retained = new ArrayList<>(tasks.size());
+        for (TaskResponse task : tasks) {
+            retained.add(task.retain(fields));
+        }
+        return retained;
+    }
+    private List<String> validate(Object request) {
+        if (request == null) {
+            return List.of("Item must not be null");
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        return violations.stream()
+                .map(violation -> "Field '" + violation.getPropertyPath() + "': " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+    private static void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must not contain more than " + MAX_BATCH_SIZE + " items");
+        }
+    }
+    protected Priority calculatePriority(boolean isCritical, boolean isCompleted, LocalDate dueDate) {
+        return TaskPriorityRules.calculate(isCritical, isCompleted, dueDate, LocalDate.now());
     }
 
 }
@@ -0,0 +1,10 @@
+package com.example.lime.task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Changes whenever a task matching a query is created, modified or deleted: creates and updates move
+ * {@code lastModified} forward, deletes lower {@code count}.
+ */
+public record TaskSetVersion(long count, LocalDateTime lastModified) {
+}
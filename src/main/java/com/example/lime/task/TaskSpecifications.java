@@ -0,0 +1,67 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.Priority;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        List<Specification<Task>> specs = new ArrayList<>();
+        if (filter.getCompleted() != null) {
+            specs.add(isCompleted(filter.getCompleted()));
+        }
+        if (filter.getPriority() != null) {
+            specs.add(hasPriorityIn(filter.getPriority()));
+        }
+        if (filter.getDueFrom() != null) {
+            specs.add(dueOnOrAfter(filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            specs.add(dueOnOrBefore(filter.getDueTo()));
+        }
+        if (filter.getCreatedBy() != null) {
+            specs.add(createdBy(filter.getCreatedBy()));
+        }
+        return specs.isEmpty() ? null : Specification.allOf(specs);
+    }
+
+    public static Specification<Task> isCompleted(boolean isCompleted) {
+        return (root, query, cb) -> cb.equal(root.get("isCompleted"), isCompleted);
+    }
+
+    public static Specification<Task> hasPriority(Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Task> hasPriorityIn(Collection<Priority> priorities) {
+        if (priorities.isEmpty()) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        return priorities.size() == 1
+                ? hasPriority(priorities.iterator().next())
+                : (root, query, cb) -> root.get("priority").in(priorities);
+    }
+
+    public static Specification<Task> dueOnOrAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), date);
+    }
+
+    public static Specification<Task> dueOnOrBefore(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), date);
+    }
+
+    public static Specification<Task> createdBy(String username) {
+        return (root, query, cb) -> cb.equal(root.get("createdBy"), username);
+    }
+}
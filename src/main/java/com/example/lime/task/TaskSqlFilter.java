@@ -0,0 +1,47 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.Priority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The conditions of {@link TaskSpecifications#matching} as native SQL, for statements JPA criteria cannot express.
+ * Values are added to {@code params} under the names used in the conditions; priorities by code, as they are stored.
+ */
+public final class TaskSqlFilter {
+
+    private TaskSqlFilter() {
+    }
+
+    public static List<String> conditions(TaskFilter filter, Map<String, Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter == null) {
+            return conditions;
+        }
+        if (filter.getCompleted() != null) {
+            conditions.add("is_completed = :completed");
+            params.put("completed", filter.getCompleted());
+        }
+        if (filter.getPriority() != null && filter.getPriority().isEmpty()) {
+            conditions.add("FALSE");
+        } else if (filter.getPriority() != null) {
+            conditions.add("priority IN (:priorities)");
+            params.put("priorities", filter.getPriority().stream().map(Priority::getCode).toList());
+        }
+        if (filter.getDueFrom() != null) {
+            conditions.add("due_date >= :dueFrom");
+            params.put("dueFrom", filter.getDueFrom());
+        }
+        if (filter.getDueTo() != null) {
+            conditions.add("due_date <= :dueTo");
+            params.put("dueTo", filter.getDueTo());
+        }
+        if (filter.getCreatedBy() != null) {
+            conditions.add("created_by = :createdBy");
+            params.put("createdBy", filter.getCreatedBy());
+        }
+        return conditions;
+    }
+}
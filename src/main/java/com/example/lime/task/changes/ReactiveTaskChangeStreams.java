@@ -0,0 +1,74 @@
+package com.example.lime.task.changes;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Serves the change feed as server-sent events on the reactive stack, with the same bounded per-client backlog as
+ * {@link TaskChangeEmitters}: a client that falls too far behind has its stream completed and resumes with
+ * {@code Last-Event-ID}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskChangeStreams implements SmartLifecycle {
+
+    private final TaskChangeFeed changeFeed;
+    private final Duration heartbeatInterval;
+    private final int queueCapacity;
+    private final Sinks.Empty<Void> shutdown = Sinks.empty();
+    private volatile boolean running;
+
+    public ReactiveTaskChangeStreams(TaskChangeFeed changeFeed,
+                                     @Value("${task.changes.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+                                     @Value("${task.changes.replay-size:1000}") int replaySize,
+                                     @Value("${task.changes.subscriber-buffer:256}") int subscriberBuffer) {
+        this.changeFeed = changeFeed;
+        this.heartbeatInterval = heartbeatInterval;
+        this.queueCapacity = replaySize + subscriberBuffer;
+    }
+
+    public Flux<ServerSentEvent<TaskChangeEvent>> open(String lastEventId) {
+        Flux<ServerSentEvent<TaskChangeEvent>> changes = Flux.<TaskChangeEvent>create(sink -> {
+                    Runnable unsubscribe = changeFeed.subscribe(lastEventId, sink::next);
+                    sink.onDispose(unsubscribe::run);
+                }, FluxSink.OverflowStrategy.IGNORE)
+                .onBackpressureBuffer(queueCapacity, BufferOverflowStrategy.ERROR)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(Long.toString(event.id()))
+                        .event(event.type().name().toLowerCase(Locale.ROOT))
+                        .build());
+        Flux<ServerSentEvent<TaskChangeEvent>> heartbeats = Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.<TaskChangeEvent>builder().comment("heartbeat").build());
+        return changes.mergeWith(heartbeats)
+                .onErrorComplete(Exceptions::isOverflow)
+                .takeUntilOther(shutdown.asMono());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // stops before the web server's graceful shutdown, which would otherwise wait on every open stream
+    @Override
+    public void stop() {
+        running = false;
+        shutdown.tryEmitEmpty();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.lime.task.changes;
+
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Serves the change feed as server-sent events on the servlet stack. Every client gets a bounded queue drained on a
+ * virtual thread, so a slow connection only ever blocks its own writes; a client that falls further behind than
+ * the queue allows is disconnected and resumes from the replay buffer with {@code Last-Event-ID}.
+ */
+@Component
+@RegisterReflectionForBinding(TaskChangeEvent.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskChangeEmitters implements SmartLifecycle {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final TaskChangeFeed changeFeed;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    public TaskChangeEmitters(TaskChangeFeed changeFeed,
+                              @Value("${task.changes.timeout:PT30M}") Duration timeout,
+                              @Value("${task.changes.replay-size:1000}") int replaySize,
+                              @Value("${task.changes.subscriber-buffer:256}") int subscriberBuffer) {
+        this.changeFeed = changeFeed;
+        this.timeoutMillis = timeout.toMillis();
+        // room for a full replay on top of the live backlog
+        this.queueCapacity = replaySize + subscriberBuffer;
+    }
+
+    public SseEmitter open(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.unsubscribe = changeFeed.subscribe(lastEventId, subscriber);
+        if (!subscribers.contains(subscriber)) {
+            // overflowed while replaying
+            subscriber.unsubscribe.run();
+        }
+        return emitter;
+    }
+
+    // keeps idle connections from being cut by proxies and notices clients that went away
+    @Scheduled(fixedRateString = "${task.changes.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.enqueue(HEARTBEAT));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // stops before the web server's graceful shutdown, which would otherwise wait on every open stream
+    @Override
+    public void stop() {
+        running = false;
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        executor.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private final class Subscriber implements Consumer<TaskChangeEvent> {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile Runnable unsubscribe;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void accept(TaskChangeEvent event) {
+            enqueue(event);
+        }
+
+        private void enqueue(Object item) {
+            if (!queue.offer(item)) {
+                close();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                while ((item = queue.poll()) != null) {
+                    send(item);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            TaskChangeEvent event = (TaskChangeEvent) item;
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.id()))
+                    .name(event.type().name().toLowerCase(Locale.ROOT))
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        private void close() {
+            if (subscribers.remove(this)) {
+                queue.clear();
+                Runnable callback = unsubscribe;
+                if (callback != null) {
+                    callback.run();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.lime.task.changes;
+
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.TaskChangeType;
+
+/**
+ * One entry of the change feed. {@code id} comes from the database-wide {@code task_change_seq}, so every instance
+ * labels a change the same way and a client can resume on any of them. {@code task} is the row as read after the
+ * change, or null for deletes and for tasks already gone by the time the change was relayed.
+ */
+public record TaskChangeEvent(long id, TaskChangeType type, Long taskId, TaskResponse task) {
+
+    static TaskChangeEvent resync(long lastId) {
+        return new TaskChangeEvent(lastId, TaskChangeType.RESYNC, null, null);
+    }
+}
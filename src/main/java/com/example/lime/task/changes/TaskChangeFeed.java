@@ -0,0 +1,103 @@
+package com.example.lime.task.changes;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process fan-out of task changes. Keeps the last {@code task.changes.replay-size} events so a reconnecting client
+ * can pick up after its {@code Last-Event-ID}; anyone asking for an event that is no longer buffered gets a
+ * {@link com.example.lime.task.enums.TaskChangeType#RESYNC} instead.
+ * <p>
+ * Subscribers are called on the publishing thread while the feed is locked, which keeps replay and live events in
+ * order without gaps or duplicates. They must hand events off without blocking.
+ */
+@Component
+public class TaskChangeFeed {
+
+    private final int replaySize;
+    private final Deque<TaskChangeEvent> buffer;
+    private final List<Consumer<TaskChangeEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final Lock lock = new ReentrantLock();
+    private long lastId;
+
+    public TaskChangeFeed(@Value("${task.changes.replay-size:1000}") int replaySize, MeterRegistry meterRegistry) {
+        this.replaySize = replaySize;
+        this.buffer = new ArrayDeque<>(replaySize);
+        Gauge.builder("task.changes.subscribers", subscribers, List::size)
+                .description("Clients subscribed to the task change feed")
+                .register(meterRegistry);
+    }
+
+    public void publish(List<TaskChangeEvent> events) {
+        lock.lock();
+        try {
+            for (TaskChangeEvent event : events) {
+                if (buffer.size() == replaySize) {
+                    buffer.removeFirst();
+                }
+                buffer.addLast(event);
+                lastId = event.id();
+                subscribers.forEach(subscriber -> subscriber.accept(event));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets the buffered events after changes may have been lost, e.g. while the database connection was down,
+     * and tells current subscribers to reload.
+     */
+    public void resync() {
+        lock.lock();
+        try {
+            buffer.clear();
+            lastId = 0;
+            TaskChangeEvent event = TaskChangeEvent.resync(lastId);
+            subscribers.forEach(subscriber -> subscriber.accept(event));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers {@code subscriber} for future events, first replaying whatever followed {@code lastEventId}.
+     * Returns the callback that unsubscribes it.
+     */
+    public Runnable subscribe(String lastEventId, Consumer<TaskChangeEvent> subscriber) {
+        lock.lock();
+        try {
+            replay(lastEventId, subscriber);
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        return () -> subscribers.remove(subscriber);
+    }
+
+    private void replay(String lastEventId, Consumer<TaskChangeEvent> subscriber) {
+        if (lastEventId == null || lastEventId.equals(Long.toString(lastId))) {
+            return;
+        }
+        // ids are taken before commit, so they are not strictly increasing in delivery order; match by position
+        Iterator<TaskChangeEvent> events = buffer.iterator();
+        while (events.hasNext()) {
+            if (Long.toString(events.next().id()).equals(lastEventId)) {
+                events.forEachRemaining(subscriber);
+                return;
+            }
+        }
+        subscriber.accept(TaskChangeEvent.resync(lastId));
+    }
+}
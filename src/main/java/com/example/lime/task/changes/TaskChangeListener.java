@@ -0,0 +1,169 @@
+package com.example.lime.task.changes;
+
+import com.example.lime.task.TaskRepository;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.TaskChangeType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relays row changes on {@code task} into the {@link TaskChangeFeed}. A trigger announces every insert, update and
+ * delete with {@code pg_notify} after commit, so writes from either web stack, the reprioritization job and other
+ * instances all show up. Each instance LISTENs on a single connection of its own, outside the pool, however many
+ * clients are subscribed, and reads the changed rows once per batch of notifications.
+ */
+@Component
+@RegisterReflectionForBinding(TaskChangeListener.Notification.class)
+@ConditionalOnProperty(name = "task.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskChangeListener implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeListener.class);
+
+    static final String CHANNEL = "task_changes";
+    private static final int POLL_MILLIS = 1000;
+    private static final long RETRY_MILLIS = 5000;
+    // keeps the IN list of a reload well below the driver's bind parameter limit after a bulk update
+    private static final int LOAD_CHUNK = 1000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final TaskRepository taskRepository;
+    private final TaskChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate primaryReads;
+
+    private volatile Thread worker;
+
+    public TaskChangeListener(DataSourceProperties dataSourceProperties,
+                              TaskRepository taskRepository,
+                              TaskChangeFeed changeFeed,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.taskRepository = taskRepository;
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
+        // read-write, so the rows are read from the primary; a replica may not have replayed the change yet
+        this.primaryReads = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            logger.info("Task change feed has no source: LISTEN/NOTIFY needs PostgreSQL");
+            return;
+        }
+        Thread thread = new Thread(() -> listen(url), "task-change-listener");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    private void listen(String url) {
+        boolean connectedBefore = false;
+        while (worker != null) {
+            try (Connection connection = DriverManager.getConnection(url,
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (connectedBefore) {
+                    // anything committed while we were disconnected was announced to nobody
+                    changeFeed.resync();
+                }
+                connectedBefore = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (worker != null) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        relay(notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (worker == null) {
+                    return;
+                }
+                logger.warn("Task change listener lost its connection, retrying in {}ms: {}", RETRY_MILLIS, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void relay(PGNotification[] notifications) {
+        List<Notification> changes = new ArrayList<>(notifications.length);
+        for (PGNotification notification : notifications) {
+            try {
+                changes.add(objectMapper.readValue(notification.getParameter(), Notification.class));
+            } catch (IOException e) {
+                logger.warn("Ignoring malformed task change notification: {}", notification.getParameter());
+            }
+        }
+
+        List<Long> changedIds = changes.stream()
+                .filter(change -> !"DELETE".equals(change.op()))
+                .map(Notification::taskId)
+                .distinct()
+                .toList();
+        Map<Long, TaskResponse> tasks = new HashMap<>();
+        primaryReads.executeWithoutResult(status -> {
+            for (int from = 0; from < changedIds.size(); from += LOAD_CHUNK) {
+                List<Long> chunk = changedIds.subList(from, Math.min(from + LOAD_CHUNK, changedIds.size()));
+                taskRepository.findAllById(chunk).forEach(task -> tasks.put(task.getId(), TaskResponse.from(task)));
+            }
+        });
+
+        changeFeed.publish(changes.stream()
+                .map(change -> new TaskChangeEvent(change.id(), type(change.op()), change.taskId(), tasks.get(change.taskId())))
+                .toList());
+    }
+
+    private static TaskChangeType type(String op) {
+        return switch (op) {
+            case "INSERT" -> TaskChangeType.CREATED;
+            case "DELETE" -> TaskChangeType.DELETED;
+            default -> TaskChangeType.UPDATED;
+        };
+    }
+
+    record Notification(long id, String op, long taskId) {
+    }
+}
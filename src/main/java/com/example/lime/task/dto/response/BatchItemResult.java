@@ -0,0 +1,20 @@
+package com.example.lime.task.dto.response;
+
+import com.example.lime.task.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+
+    private int index;
+
+    private Long id;
+
+    private BatchItemStatus status;
+
+    private List<String> errors;
+}
@@ -0,0 +1,15 @@
+package com.example.lime.task.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskPage {
+
+    private List<TaskResponse> items;
+
+    private String nextCursor;
+}
@@ -0,0 +1,82 @@
+package com.example.lime.task.dto.response;
+
+import com.example.lime.task.Task;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.TaskField;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * A task as the API returns it. Lists fill in only the selected {@link TaskField}s; the others stay null and are
+ * left out of the JSON.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskResponse {
+
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private LocalDate dueDate;
+
+    private Priority priority;
+
+    private Boolean completed;
+
+    private Long version;
+
+    private String createdBy;
+
+    private LocalDateTime createdDate;
+
+    private String lastModifiedBy;
+
+    private LocalDateTime lastModifiedDate;
+
+    public static TaskResponse from(Task task) {
+        return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(),
+                task.getPriority(), task.isCompleted(), task.getVersion(), task.getCreatedBy(), task.getCreatedDate(),
+                task.getLastModifiedBy(), task.getLastModifiedDate());
+    }
+
+    public void set(TaskField field, Object value) {
+        switch (field) {
+            case ID -> id = (Long) value;
+            case TITLE -> title = (String) value;
+            case DESCRIPTION -> description = (String) value;
+            case DUE_DATE -> dueDate = (LocalDate) value;
+            case PRIORITY -> priority = (Priority) value;
+            case COMPLETED -> completed = (Boolean) value;
+            case VERSION -> version = (Long) value;
+            case CREATED_BY -> createdBy = (String) value;
+            case CREATED_DATE -> createdDate = (LocalDateTime) value;
+            case LAST_MODIFIED_BY -> lastModifiedBy = (String) value;
+            case LAST_MODIFIED_DATE -> lastModifiedDate = (LocalDateTime) value;
+        }
+    }
+
+    /**
+     * Clears the fields that were only read to build a cursor.
+     */
+    public TaskResponse retain(Set<TaskField> fields) {
+        for (TaskField field : TaskField.values()) {
+            if (!fields.contains(field)) {
+                set(field, null);
+            }
+        }
+        return this;
+    }
+}
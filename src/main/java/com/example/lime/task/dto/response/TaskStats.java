@@ -0,0 +1,22 @@
+package com.example.lime.task.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskStats {
+
+    private long total;
+
+    // non-zero combinations of priority, completion and due bucket
+    private List<TaskStatsCount> counts;
+
+    private LocalDate asOf;
+
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,19 @@
+package com.example.lime.task.dto.response;
+
+import com.example.lime.task.enums.DueBucket;
+import com.example.lime.task.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskStatsCount {
+
+    private Priority priority;
+
+    private boolean completed;
+
+    private DueBucket due;
+
+    private long count;
+}
@@ -0,0 +1,15 @@
+package com.example.lime.task.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskTransferResult {
+
+    private long rows;
+
+    private long millis;
+
+    private long rowsPerSecond;
+}
@@ -0,0 +1,9 @@
+package com.example.lime.task.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    INVALID,
+    NOT_FOUND
+}
@@ -0,0 +1,25 @@
+package com.example.lime.task.enums;
+
+import com.example.lime.task.TaskPriorityRules;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public enum DueBucket {
+    OVERDUE,
+    TODAY,
+    // the window in which TaskPriorityRules makes open tasks MEDIUM
+    THIS_WEEK,
+    LATER;
+
+    public static DueBucket of(LocalDate dueDate, LocalDate today) {
+        if (dueDate == null) {
+            return LATER;
+        }
+        long days = ChronoUnit.DAYS.between(today, dueDate);
+        return days < 0 ? OVERDUE
+                : days == 0 ? TODAY
+                : days <= TaskPriorityRules.MEDIUM_WITHIN_DAYS ? THIS_WEEK
+                : LATER;
+    }
+}
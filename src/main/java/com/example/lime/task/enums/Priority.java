@@ -1,5 +1,28 @@
 package com.example.lime.task.enums;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stored as its {@link #getCode() code} in a {@code smallint} column. Codes ascend with decreasing urgency and the
+ * constants are declared in code order, so sorting by the column and by {@link #compareTo} agree. Codes must never
+ * be reused or renumbered: they are what existing rows hold.
+ */
+@RequiredArgsConstructor
+@Getter
 public enum Priority {
-    HIGH, MEDIUM, LOW;
+    HIGH((short) 0),
+    MEDIUM((short) 1),
+    LOW((short) 2);
+
+    private final short code;
+
+    public static Priority fromCode(int code) {
+        for (Priority priority : values()) {
+            if (priority.code == code) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown priority code " + code);
+    }
 }
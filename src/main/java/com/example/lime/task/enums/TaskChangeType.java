@@ -0,0 +1,9 @@
+package com.example.lime.task.enums;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    // changes may have been missed; clients should reload what they display
+    RESYNC
+}
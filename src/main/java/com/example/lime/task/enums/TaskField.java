@@ -0,0 +1,73 @@
+package com.example.lime.task.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A property of a task as it appears in list responses, with the entity attribute and column it is read from.
+ * Lists select only the fields a client asks for with {@code fields=}; without it they get {@link #DEFAULTS}.
+ */
+@RequiredArgsConstructor
+@Getter
+public enum TaskField {
+    ID("id", "id", "id"),
+    TITLE("title", "title", "title"),
+    DESCRIPTION("description", "description", "description"),
+    DUE_DATE("dueDate", "dueDate", "due_date"),
+    PRIORITY("priority", "priority", "priority"),
+    COMPLETED("completed", "isCompleted", "is_completed"),
+    VERSION("version", "version", "version"),
+    CREATED_BY("createdBy", "createdBy", "created_by"),
+    CREATED_DATE("createdDate", "createdDate", "created_date"),
+    LAST_MODIFIED_BY("lastModifiedBy", "lastModifiedBy", "last_modified_by"),
+    LAST_MODIFIED_DATE("lastModifiedDate", "lastModifiedDate", "last_modified_date");
+
+    // the audit fields are left out unless asked for
+    public static final Set<TaskField> DEFAULTS = Collections.unmodifiableSet(EnumSet.range(ID, VERSION));
+
+    // what a page needs to build its cursor, whatever the client asked for
+    public static final Set<TaskField> SORT_KEYS = Collections.unmodifiableSet(EnumSet.of(ID, PRIORITY, DUE_DATE));
+
+    private static final Map<String, TaskField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toMap(TaskField::getProperty, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+
+    private final String property;
+    private final String attribute;
+    private final String column;
+
+    /**
+     * Parses a comma-separated {@code fields} parameter, e.g. {@code id,title,dueDate}.
+     */
+    public static Set<TaskField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return DEFAULTS;
+        }
+        Set<TaskField> parsed = EnumSet.noneOf(TaskField.class);
+        for (String name : fields.split(",")) {
+            TaskField field = BY_NAME.get(name.trim());
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field '" + name.trim() + "', expected any of " + BY_NAME.keySet());
+            }
+            parsed.add(field);
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return parsed;
+    }
+
+    public static Set<TaskField> withSortKeys(Set<TaskField> fields) {
+        Set<TaskField> selected = EnumSet.copyOf(SORT_KEYS);
+        selected.addAll(fields);
+        return selected;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.lime.task.reactive;
+
+import com.example.lime.task.TaskETags;
+import com.example.lime.task.TaskFilter;
+import com.example.lime.task.changes.ReactiveTaskChangeStreams;
+import com.example.lime.task.changes.TaskChangeEvent;
+import com.example.lime.task.dto.request.CreateTaskRequest;
+import com.example.lime.task.dto.request.UpdateTaskRequest;
+import com.example.lime.task.dto.response.TaskPage;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.dto.response.TaskStats;
+import com.example.lime.task.enums.FilterType;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/tasks")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+    private final ReactiveTaskChangeStreams changeStreams;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request) {
+        return taskService.createTask(request).map(TaskResponse::from);
+    }
+
+    @GetMapping
+    public Mono<TaskPage> getTasks(
+            @RequestParam(required = false) FilterType filter,
+            @RequestParam(required = false) String value,
+            @ModelAttribute TaskFilter criteria,
+            @RequestParam(defaultValue = "PRIORITY") SortType sort,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return Mono.defer(() -> taskService.getTasks(sort, criteria.and(filter, value), TaskField.parse(fields), cursor, size));
+    }
+
+    @GetMapping("/stats")
+    public Mono<TaskStats> getStats() {
+        return taskService.getStats();
+    }
+
+    @GetMapping("/search")
+    public Mono<TaskPage> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) FilterType filter,
+            @RequestParam(required = false) String value,
+            @ModelAttribute TaskFilter criteria,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return Mono.defer(() -> taskService.searchTasks(q, criteria.and(filter, value), TaskField.parse(fields), cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponse> streamTasks(
+            @RequestParam(required = false) FilterType filter,
+            @RequestParam(required = false) String value,
+            @ModelAttribute TaskFilter criteria,
+            @RequestParam(defaultValue = "PRIORITY") SortType sort,
+            @RequestParam(required = false) String fields) {
+        return Flux.defer(() -> taskService.streamTasks(sort, criteria.and(filter, value), TaskField.parse(fields)));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TaskChangeEvent>> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeStreams.open(lastEventId);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TaskResponse>> getTask(@PathVariable Long id, ServerWebExchange exchange) {
+        if (exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH) != null) {
+            return taskService.getTaskVersion(id)
+                    .map(TaskETags::of)
+                    .flatMap(eTag -> exchange.checkNotModified(eTag)
+                            ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<TaskResponse>build())
+                            : getTask(id));
+        }
+        return getTask(id);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<TaskResponse>> updateTask(@PathVariable Long id, @Valid @RequestBody UpdateTaskRequest request,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> taskService.updateTask(id, request, TaskETags.parseVersion(ifMatch)))
+                .map(task -> ResponseEntity.ok().eTag(TaskETags.of(task.getVersion())).body(TaskResponse.from(task)));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Void>> deleteTask(@PathVariable Long id) {
+        return taskService.deleteTask(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    private Mono<ResponseEntity<TaskResponse>> getTask(Long id) {
+        return taskService.getTask(id)
+                .map(task -> ResponseEntity.ok().eTag(TaskETags.of(task.getVersion())).body(TaskResponse.from(task)));
+    }
+}
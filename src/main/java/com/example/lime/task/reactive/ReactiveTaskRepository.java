@@ -0,0 +1,263 @@
+package com.example.lime.task.reactive;
+
+import com.example.lime.task.Task;
+import com.example.lime.task.TaskCursor;
+import com.example.lime.task.TaskFilter;
+import com.example.lime.task.TaskSearch;
+import com.example.lime.task.TaskSearchCursor;
+import com.example.lime.task.TaskSearchHit;
+import com.example.lime.task.TaskSqlFilter;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * R2DBC access to the {@code task} table mapped by JPA. Statements are written by hand against the same columns,
+ * so both stacks can serve one database; priorities are stored by code, as JPA does.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS = "id, title, description, due_date, priority, is_completed, version, "
+            + "created_by, created_date, last_modified_by, last_modified_date";
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+    private final AtomicReference<IdBlock> idBlock = new AtomicReference<>(new IdBlock(1, 0));
+
+    public Mono<Task> findById(long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM task WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    public Mono<Long> findVersionById(long id) {
+        return databaseClient.sql("SELECT version FROM task WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    /**
+     * Reads only the given columns, plus the sort keys the cursor is built from.
+     */
+    public Flux<TaskResponse> findPage(TaskFilter filter, SortType sort, TaskCursor after, int limit, Set<TaskField> fields) {
+        Set<TaskField> selected = TaskField.withSortKeys(fields);
+        Query query = select(selected, filter, sort, after);
+        return bindAll(databaseClient.sql(query.sql() + " LIMIT :limit"), query.params())
+                .bind("limit", limit)
+                .map(row -> toResponse(row, selected))
+                .all();
+    }
+
+    public Flux<TaskResponse> stream(TaskFilter filter, SortType sort, Set<TaskField> fields) {
+        // rows are fetched from a server-side cursor as downstream demand arrives, so a slow client
+        // holds back the query instead of the whole result piling up in memory
+        Query query = select(fields, filter, sort, null);
+        return bindAll(databaseClient.sql(query.sql()), query.params())
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(row -> toResponse(row, fields))
+                .all();
+    }
+
+    public Flux<TaskSearchHit> search(String prefixQuery, TaskFilter filter, TaskSearchCursor after, int limit,
+                                      Set<TaskField> fields) {
+        Set<TaskField> selected = EnumSet.copyOf(fields);
+        selected.add(TaskField.ID);
+        TaskSearch.Query query = TaskSearch.select(columns(selected), prefixQuery, filter, after);
+        return bindAll(databaseClient.sql(query.sql() + " LIMIT :limit"), query.params())
+                .bind("limit", limit)
+                .map(row -> new TaskSearchHit(toResponse(row, selected), row.get("rank", Float.class)))
+                .all();
+    }
+
+    public Mono<Task> insert(Task task) {
+        return nextId().flatMap(id -> insert(id, task));
+    }
+
+    private Mono<Task> insert(long id, Task task) {
+        String sql = "INSERT INTO task (id, title, description, due_date, priority, is_completed, version, created_by, created_date) "
+                + "VALUES (:id, :title, :description, :dueDate, :priority, :completed, 0, :createdBy, :createdDate) "
+                + "RETURNING " + COLUMNS;
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("id", id);
+        params.put("title", task.getTitle());
+        params.put("description", task.getDescription());
+        params.put("dueDate", task.getDueDate());
+        params.put("priority", task.getPriority().getCode());
+        params.put("completed", task.isCompleted());
+        params.put("createdBy", task.getCreatedBy());
+        params.put("createdDate", task.getCreatedDate());
+        return bindAll(databaseClient.sql(sql), params)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    /**
+     * Overwrites the editable fields and bumps the version in one statement. Completes empty when the task does
+     * not exist or, if {@code expectedVersion} is given, is at a different version.
+     */
+    public Mono<Task> update(Task task, Long expectedVersion) {
+        String sql = "UPDATE task SET title = :title, description = :description, due_date = :dueDate, "
+                + "priority = :priority, is_completed = :completed, version = version + 1, "
+                + "last_modified_by = :modifiedBy, last_modified_date = :modifiedDate "
+                + "WHERE id = :id" + (expectedVersion != null ? " AND version = :version" : "")
+                + " RETURNING " + COLUMNS;
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("id", task.getId());
+        params.put("title", task.getTitle());
+        params.put("description", task.getDescription());
+        params.put("dueDate", task.getDueDate());
+        params.put("priority", task.getPriority().getCode());
+        params.put("completed", task.isCompleted());
+        params.put("modifiedBy", task.getLastModifiedBy());
+        params.put("modifiedDate", task.getLastModifiedDate());
+        if (expectedVersion != null) {
+            params.put("version", expectedVersion);
+        }
+        return bindAll(databaseClient.sql(sql), params)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    public Mono<Boolean> deleteById(long id) {
+        return databaseClient.sql("DELETE FROM task WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    /**
+     * Hands out ids the way Hibernate's pooled optimizer does for {@code task_seq}: each {@code nextval()} reserves the
+     * block of {@link Task#ID_ALLOCATION_SIZE} ids ending at the returned value, so both stacks can insert side by side.
+     */
+    private Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            long id = idBlock.get().next();
+            if (id > 0) {
+                return Mono.just(id);
+            }
+            return databaseClient.sql("SELECT nextval('task_seq')")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(hi -> {
+                        IdBlock block = new IdBlock(Math.max(1, hi - Task.ID_ALLOCATION_SIZE + 1), hi);
+                        long first = block.next();
+                        idBlock.set(block);
+                        return first;
+                    });
+        });
+    }
+
+    private static Query select(Set<TaskField> fields, TaskFilter filter, SortType sort, TaskCursor after) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        List<String> conditions = TaskSqlFilter.conditions(filter, params);
+
+        // row value comparisons follow the composite indexes, so each page starts with an index seek
+        String keys = sort == SortType.DUE_DATE ? "due_date, priority, id" : "priority, due_date, id";
+        if (after != null) {
+            conditions.add(sort == SortType.DUE_DATE
+                    ? "(due_date, priority, id) > (:afterDueDate, :afterPriority, :afterId)"
+                    : "(priority, due_date, id) > (:afterPriority, :afterDueDate, :afterId)");
+            params.put("afterPriority", after.priority().getCode());
+            params.put("afterDueDate", after.dueDate());
+            params.put("afterId", after.id());
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns(fields)).append(" FROM task");
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ").append(keys);
+        return new Query(sql.toString(), params);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindAll(DatabaseClient.GenericExecuteSpec spec, Map<String, Object> params) {
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = param.getValue() != null
+                    ? spec.bind(param.getKey(), param.getValue())
+                    : spec.bindNull(param.getKey(), String.class);
+        }
+        return spec;
+    }
+
+    private static Task toTask(Readable row) {
+        Task task = Task.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .dueDate(row.get("due_date", LocalDate.class))
+                .priority(Priority.fromCode(row.get("priority", Short.class)))
+                .isCompleted(Boolean.TRUE.equals(row.get("is_completed", Boolean.class)))
+                .version(row.get("version", Long.class))
+                .build();
+        task.setCreatedBy(row.get("created_by", String.class));
+        task.setCreatedDate(row.get("created_date", LocalDateTime.class));
+        task.setLastModifiedBy(row.get("last_modified_by", String.class));
+        task.setLastModifiedDate(row.get("last_modified_date", LocalDateTime.class));
+        return task;
+    }
+
+    private static String columns(Set<TaskField> fields) {
+        return fields.stream().map(TaskField::getColumn).collect(Collectors.joining(", "));
+    }
+
+    private static TaskResponse toResponse(Readable row, Set<TaskField> fields) {
+        TaskResponse response = new TaskResponse();
+        for (TaskField field : fields) {
+            String column = field.getColumn();
+            response.set(field, switch (field) {
+                case ID, VERSION -> row.get(column, Long.class);
+                case TITLE, DESCRIPTION, CREATED_BY, LAST_MODIFIED_BY -> row.get(column, String.class);
+                case DUE_DATE -> row.get(column, LocalDate.class);
+                case PRIORITY -> Priority.fromCode(row.get(column, Short.class));
+                case COMPLETED -> row.get(column, Boolean.class);
+                case CREATED_DATE, LAST_MODIFIED_DATE -> row.get(column, LocalDateTime.class);
+            });
+        }
+        return response;
+    }
+
+    private record Query(String sql, Map<String, Object> params) {
+    }
+
+    private static final class IdBlock {
+
+        private final AtomicLong next;
+        private final long last;
+
+        IdBlock(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+
+        // 0 once the block is used up
+        long next() {
+            long id = next.getAndIncrement();
+            return id <= last ? id : 0;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.lime.task.reactive;
+
+import com.example.lime.audit.AuditListener;
+import com.example.lime.task.Task;
+import com.example.lime.task.TaskCursor;
+import com.example.lime.task.TaskFilter;
+import com.example.lime.task.TaskPriorityRules;
+import com.example.lime.task.TaskSearch;
+import com.example.lime.task.TaskSearchCursor;
+import com.example.lime.task.TaskSearchHit;
+import com.example.lime.task.TaskService;
+import com.example.lime.task.dto.request.CreateTaskRequest;
+import com.example.lime.task.dto.request.UpdateTaskRequest;
+import com.example.lime.task.dto.response.TaskPage;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.dto.response.TaskStats;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import com.example.lime.task.stats.TaskStatsCounters;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final TaskStatsCounters taskStatsCounters;
+
+    public Mono<Task> createTask(CreateTaskRequest request) {
+        return currentUser().flatMap(user -> {
+            Task task = Task.builder()
+                    .title(request.getTitle())
+                    .description(request.getDescription())
+                    .isCompleted(false)
+                    .dueDate(request.getDueDate())
+                    .priority(calculatePriority(request.isCritical(), false, request.getDueDate()))
+                    .build();
+            task.setCreatedBy(user);
+            task.setCreatedDate(LocalDateTime.now());
+            return taskRepository.insert(task);
+        });
+    }
+
+    public Mono<TaskPage> getTasks(SortType sortBy, TaskFilter filter, Set<TaskField> fields, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), TaskService.MAX_PAGE_SIZE);
+        return Mono.defer(() -> {
+                    TaskCursor after = cursor != null ? TaskCursor.decode(cursor, sortBy) : null;
+                    // one extra row tells us whether another page exists without a separate count query
+                    return taskRepository.findPage(filter, sortBy, after, limit + 1, fields).collectList();
+                })
+                .map(tasks -> {
+                    String nextCursor = null;
+                    if (tasks.size() > limit) {
+                        tasks = tasks.subList(0, limit);
+                        nextCursor = TaskCursor.of(sortBy, tasks.get(limit - 1)).encode();
+                    }
+                    return new TaskPage(TaskService.retain(tasks, fields), nextCursor);
+                });
+    }
+
+    public Mono<TaskPage> searchTasks(String text, TaskFilter filter, Set<TaskField> fields, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), TaskService.MAX_PAGE_SIZE);
+        return Mono.defer(() -> {
+                    String query = TaskSearch.prefixQuery(text);
+                    TaskSearchCursor after = cursor != null ? TaskSearchCursor.decode(cursor) : null;
+                    return taskRepository.search(query, filter, after, limit + 1, fields).collectList();
+                })
+                .map(hits -> {
+                    String nextCursor = null;
+                    if (hits.size() > limit) {
+                        TaskSearchHit last = hits.get(limit - 1);
+                        nextCursor = new TaskSearchCursor(last.rank(), last.task().getId()).encode();
+                    }
+                    List<TaskResponse> tasks = hits.stream().limit(limit).map(TaskSearchHit::task).toList();
+                    return new TaskPage(TaskService.retain(tasks, fields), nextCursor);
+                });
+    }
+
+    /**
+     * R2DBC writes do not pass through Hibernate, so they reach these counters only on the next reconciliation.
+     * Served from memory, except for the first call, which may have to load the counters over JDBC.
+     */
+    public Mono<TaskStats> getStats() {
+        return Mono.fromCallable(taskStatsCounters::stats).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Flux<TaskResponse> streamTasks(SortType sortBy, TaskFilter filter, Set<TaskField> fields) {
+        return taskRepository.stream(filter, sortBy, fields);
+    }
+
+    public Mono<Task> getTask(Long id) {
+        return taskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    public Mono<Long> getTaskVersion(Long id) {
+        return taskRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    public Mono<Task> updateTask(Long id, UpdateTaskRequest request, Long expectedVersion) {
+        return currentUser().flatMap(user -> {
+            Task task = Task.builder()
+                    .id(id)
+                    .title(request.getTitle())
+                    .description(request.getDescription())
+                    .dueDate(request.getDueDate())
+                    .isCompleted(request.isCompleted())
+                    .priority(calculatePriority(request.isCritical(), request.isCompleted(), request.getDueDate()))
+                    .build();
+            task.setLastModifiedBy(user);
+            task.setLastModifiedDate(LocalDateTime.now());
+            return taskRepository.update(task, expectedVersion);
+        }).switchIfEmpty(Mono.defer(() -> taskRepository.findVersionById(id)
+                .flatMap(version -> Mono.<Task>error(new OptimisticLockingFailureException("Task with ID " + id
+                        + " is at version " + version + ", not " + expectedVersion)))
+                .switchIfEmpty(Mono.error(() -> notFound(id)))));
+    }
+
+    public Mono<Void> deleteTask(Long id) {
+        return taskRepository.deleteById(id)
+                .flatMap(deleted -> deleted ? Mono.<Void>empty() : Mono.error(notFound(id)));
+    }
+
+    protected Priority calculatePriority(boolean isCritical, boolean isCompleted, LocalDate dueDate) {
+        return TaskPriorityRules.calculate(isCritical, isCompleted, dueDate, LocalDate.now());
+    }
+
+    private static Mono<String> currentUser() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Authentication::getName)
+                .defaultIfEmpty(AuditListener.SYSTEM_USER);
+    }
+
+    private static EntityNotFoundException notFound(Long id) {
+        return new EntityNotFoundException("Task with ID " + id + " not found");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.lime.task.stats;
+
+/**
+ * A task written by a store without Hibernate's events: {@code from} is null for an insert, {@code to} for a delete.
+ */
+public record TaskStatsChange(TaskStatsKey from, TaskStatsKey to) {
+}
@@ -0,0 +1,196 @@
+package com.example.lime.task.stats;
+
+import com.example.lime.task.dto.response.TaskStats;
+import com.example.lime.task.dto.response.TaskStatsCount;
+import com.example.lime.task.enums.DueBucket;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.store.TaskStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Task counts per {@link TaskStatsKey}, loaded once with a grouped count and then kept current from committed
+ * writes, so {@code GET /tasks/stats} never scans the table. The bucketed {@link TaskStats} is cached until the next
+ * change or the next day. Writes this instance does not see (other instances, reactive mode) are picked up by
+ * {@link #reconcile()}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskStatsCounters {
+
+    private static final Comparator<TaskStatsCount> ORDER = Comparator.comparing(TaskStatsCount::getPriority)
+            .thenComparing(TaskStatsCount::isCompleted)
+            .thenComparing(TaskStatsCount::getDue);
+
+    private final TaskStore taskStore;
+
+    private final Lock reconcileLock = new ReentrantLock();
+    // held shared by every change, exclusively while a recount swaps in its counters
+    private final ReadWriteLock countsLock = new ReentrantReadWriteLock();
+    private final AtomicLong modifications = new AtomicLong();
+    private volatile Map<TaskStatsKey, LongAdder> counts;
+    // the changes that arrived since a running recount started, which its grouped count may not see
+    private volatile Map<TaskStatsKey, LongAdder> recounting;
+    private volatile LocalDateTime reconciledAt;
+    private volatile Snapshot snapshot;
+
+    public void add(TaskStatsKey key, long delta) {
+        countsLock.readLock().lock();
+        try {
+            Map<TaskStatsKey, LongAdder> recount = recounting;
+            if (recount != null) {
+                recount.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            }
+            Map<TaskStatsKey, LongAdder> current = counts;
+            if (current == null) {
+                // not loaded yet; the first load counts this change
+                return;
+            }
+            current.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            modifications.incrementAndGet();
+        } finally {
+            countsLock.readLock().unlock();
+        }
+    }
+
+    public void move(TaskStatsKey from, TaskStatsKey to) {
+        if (!from.equals(to)) {
+            add(from, -1);
+            add(to, 1);
+        }
+    }
+
+    @EventListener
+    public void onChange(TaskStatsChange change) {
+        if (change.from() == null) {
+            add(change.to(), 1);
+        } else if (change.to() == null) {
+            add(change.from(), -1);
+        } else {
+            move(change.from(), change.to());
+        }
+    }
+
+    /**
+     * Subtracts {@code rows} once the surrounding transaction commits, or right away without one; for bulk
+     * statements that Hibernate's events do not see.
+     */
+    public void removeAfterCommit(List<TaskStatsRow> rows) {
+        Runnable removal = () -> rows.forEach(row -> add(row.key(), -row.count()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            removal.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                removal.run();
+            }
+        });
+    }
+
+    public TaskStats stats() {
+        if (counts == null) {
+            reconcile();
+        }
+        LocalDate today = LocalDate.now();
+        long modification = modifications.get();
+        Snapshot cached = snapshot;
+        if (cached != null && cached.day().equals(today) && cached.modification() == modification) {
+            return cached.stats();
+        }
+
+        Map<Bucket, Long> buckets = new HashMap<>();
+        long total = 0;
+        for (Map.Entry<TaskStatsKey, LongAdder> entry : counts.entrySet()) {
+            TaskStatsKey key = entry.getKey();
+            long count = entry.getValue().sum();
+            total += count;
+            buckets.merge(new Bucket(key.priority(), key.completed(), DueBucket.of(key.dueDate(), today)), count, Long::sum);
+        }
+        List<TaskStatsCount> cells = new ArrayList<>();
+        buckets.forEach((bucket, count) -> {
+            if (count != 0) {
+                cells.add(new TaskStatsCount(bucket.priority(), bucket.completed(), bucket.due(), count));
+            }
+        });
+        cells.sort(ORDER);
+
+        TaskStats stats = new TaskStats(total, cells, today, reconciledAt);
+        snapshot = new Snapshot(today, modification, stats);
+        return stats;
+    }
+
+    /**
+     * Replaces the counters with a fresh grouped count and returns the drift: the number of tasks the counters had
+     * wrong, summed over all keys. Read-write, so the count comes from the primary rather than a lagging replica.
+     * Changes arriving while the count runs are recorded and applied on top of it; one committed just as the count
+     * starts may be in it already, which the next run settles.
+     */
+    @Transactional
+    public long reconcile() {
+        reconcileLock.lock();
+        try {
+            recounting = new ConcurrentHashMap<>();
+            Map<TaskStatsKey, LongAdder> fresh = new ConcurrentHashMap<>();
+            for (TaskStatsRow row : taskStore.countByStatsKey()) {
+                LongAdder count = new LongAdder();
+                count.add(row.count());
+                fresh.put(row.key(), count);
+            }
+            countsLock.writeLock().lock();
+            try {
+                recounting.forEach((key, delta) -> fresh.computeIfAbsent(key, k -> new LongAdder()).add(delta.sum()));
+                long drift = counts == null ? 0 : drift(counts, fresh);
+                counts = fresh;
+                reconciledAt = LocalDateTime.now();
+                modifications.incrementAndGet();
+                return drift;
+            } finally {
+                recounting = null;
+                countsLock.writeLock().unlock();
+            }
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private static long drift(Map<TaskStatsKey, LongAdder> counted, Map<TaskStatsKey, LongAdder> actual) {
+        long drift = 0;
+        for (Map.Entry<TaskStatsKey, LongAdder> entry : counted.entrySet()) {
+            LongAdder real = actual.get(entry.getKey());
+            drift += Math.abs(entry.getValue().sum() - (real != null ? real.sum() : 0));
+        }
+        for (Map.Entry<TaskStatsKey, LongAdder> entry : actual.entrySet()) {
+            if (!counted.containsKey(entry.getKey())) {
+                drift += entry.getValue().sum();
+            }
+        }
+        return drift;
+    }
+
+    private record Bucket(Priority priority, boolean completed, DueBucket due) {
+    }
+
+    private record Snapshot(LocalDate day, long modification, TaskStats stats) {
+    }
+}
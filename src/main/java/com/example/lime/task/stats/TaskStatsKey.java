@@ -0,0 +1,17 @@
+package com.example.lime.task.stats;
+
+import com.example.lime.task.Task;
+import com.example.lime.task.enums.Priority;
+
+import java.time.LocalDate;
+
+/**
+ * What a task is counted under. Counts are kept per due date rather than per {@link com.example.lime.task.enums.DueBucket},
+ * because a task moves between buckets as days pass without being written.
+ */
+public record TaskStatsKey(Priority priority, boolean completed, LocalDate dueDate) {
+
+    public static TaskStatsKey of(Task task) {
+        return new TaskStatsKey(task.getPriority(), task.isCompleted(), task.getDueDate());
+    }
+}
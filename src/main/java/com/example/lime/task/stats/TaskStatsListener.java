@@ -0,0 +1,86 @@
+package com.example.lime.task.stats;
+
+import com.example.lime.task.Task;
+import com.example.lime.task.enums.Priority;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps {@link TaskStatsCounters} in step with committed task inserts, updates and deletes, including the batched
+ * ones of {@code TaskService}. Updates move a task from the key of its loaded state to the key of its new state.
+ */
+@Component
+@ConditionalOnProperty(name = "task.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TaskStatsListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskStatsCounters counters;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Task.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        counters.add(key(event.getPersister(), event.getState()), 1);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getOldState() != null) {
+            counters.move(key(event.getPersister(), event.getOldState()), key(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        counters.add(key(event.getPersister(), event.getDeletedState()), -1);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private static TaskStatsKey key(EntityPersister persister, Object[] state) {
+        return new TaskStatsKey(
+                (Priority) state[persister.getPropertyIndex("priority")],
+                (Boolean) state[persister.getPropertyIndex("isCompleted")],
+                (LocalDate) state[persister.getPropertyIndex("dueDate")]);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.lime.task.stats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically recounts tasks to correct {@link TaskStatsCounters} for writes it did not see, and reports how far
+ * the counters had drifted. Steady non-zero drift on a single instance points at a write path the counters miss.
+ */
+@Component
+public class TaskStatsReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatsReconciliationJob.class);
+
+    private final TaskStatsCounters counters;
+    private final Timer runTimer;
+    private final AtomicLong lastDrift = new AtomicLong();
+
+    public TaskStatsReconciliationJob(TaskStatsCounters counters, MeterRegistry meterRegistry) {
+        this.counters = counters;
+        this.runTimer = Timer.builder("task.stats.reconciliation.duration")
+                .description("Time taken to recount tasks for the statistics")
+                .register(meterRegistry);
+        meterRegistry.gauge("task.stats.drift", lastDrift);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            counters.reconcile();
+        } catch (RuntimeException ex) {
+            logger.error("Loading task statistics failed, will retry on schedule: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.stats.reconcile-interval:PT5M}", initialDelayString = "${task.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        long startTime = System.nanoTime();
+        long drift = counters.reconcile();
+        runTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        lastDrift.set(drift);
+        if (drift != 0) {
+            logger.warn("Task statistics had drifted by {} tasks and were reconciled", drift);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.lime.task.stats;
+
+import com.example.lime.task.enums.Priority;
+
+import java.time.LocalDate;
+
+public record TaskStatsRow(Priority priority, boolean completed, LocalDate dueDate, long count) {
+
+    public TaskStatsKey key() {
+        return new TaskStatsKey(priority, completed, dueDate);
+    }
+}
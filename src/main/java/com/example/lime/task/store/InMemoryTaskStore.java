@@ -0,0 +1,760 @@
+package com.example.lime.task.store;
+
+import com.example.lime.audit.AuditEntry;
+import com.example.lime.audit.AuditListener;
+import com.example.lime.task.Task;
+import com.example.lime.task.TaskCursor;
+import com.example.lime.task.TaskFilter;
+import com.example.lime.task.TaskSearchCursor;
+import com.example.lime.task.TaskSearchHit;
+import com.example.lime.task.TaskSetVersion;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import com.example.lime.task.stats.TaskStatsChange;
+import com.example.lime.task.stats.TaskStatsKey;
+import com.example.lime.task.stats.TaskStatsRow;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Tasks held in memory, one array per field rather than one object per task. A task's slot in the arrays is its id
+ * minus one: ids are handed out in order and never reused. Due dates are kept as epoch days, priorities as a byte,
+ * the completed flags in a bit set, and users as codes into a dictionary.
+ * <p>
+ * Every (due date, priority, completed) combination has a bucket of slots in id order, and the buckets are kept in a
+ * map sorted by due date. Both sort orders walk that map. The completed, priority and due date filters only decide
+ * which buckets to visit, and the per-key counts of the statistics are bucket sizes. A page therefore costs about as
+ * much as the tasks it returns, however many tasks are stored. Search scans every task: there is no word index.
+ * <p>
+ * The data lives as long as the process does and is not shared between instances. There is no audit trail.
+ */
+@Component
+@ConditionalOnProperty(name = "task.store", havingValue = "memory")
+public class InMemoryTaskStore implements TaskStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final int NONE = -1;
+    private static final int MISSING = -2;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final float TITLE_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 0.4f;
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final ApplicationEventPublisher events;
+
+    // a ReentrantReadWriteLock rather than monitors, which would pin virtual threads
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // slots handed out so far, which is also the last id
+    private int size;
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private int[] dueDays = new int[INITIAL_CAPACITY];
+    // the ordinal, which sorts like the stored code
+    private byte[] priorities = new byte[INITIAL_CAPACITY];
+    private final BitSet completed = new BitSet();
+    private final BitSet live = new BitSet();
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int[] createdBy = new int[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private int[] lastModifiedBy = new int[INITIAL_CAPACITY];
+    private long[] lastModifiedAt = new long[INITIAL_CAPACITY];
+
+    private final List<String> users = new ArrayList<>();
+    private final Map<String, Integer> userCodes = new HashMap<>();
+
+    // epoch day -> bucket per priority and completed flag, see bucketIndex
+    private final TreeMap<Integer, Bucket[]> days = new TreeMap<>();
+
+    public InMemoryTaskStore(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return read(() -> {
+            int slot = slot(id);
+            return slot == NONE ? Optional.empty() : Optional.of(toTask(slot));
+        });
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        return read(() -> {
+            List<Task> tasks = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                int slot = slot(id);
+                if (slot != NONE) {
+                    tasks.add(toTask(slot));
+                }
+            }
+            return tasks;
+        });
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return read(() -> {
+            int slot = slot(id);
+            return slot == NONE ? Optional.empty() : Optional.of(versions[slot]);
+        });
+    }
+
+    @Override
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        return read(() -> ids.stream().filter(id -> slot(id) != NONE).toList());
+    }
+
+    @Override
+    public Task save(Task task) {
+        return saveAll(List.of(task)).get(0);
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        String user = AuditListener.currentUser();
+        long now = micros(LocalDateTime.now());
+        List<Task> saved = new ArrayList<>(tasks.size());
+        List<TaskStatsChange> changes = new ArrayList<>(tasks.size());
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            // checked up front, so a batch is written completely or not at all
+            for (Task task : tasks) {
+                check(task);
+            }
+            for (Task task : tasks) {
+                int slot;
+                TaskStatsKey from = null;
+                if (task.getId() == null) {
+                    slot = insert(task, user, now);
+                } else {
+                    slot = slot(task.getId());
+                    from = statsKey(slot);
+                    update(slot, task, user, now);
+                }
+                changes.add(new TaskStatsChange(from, statsKey(slot)));
+                saved.add(toTask(slot));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        changes.forEach(events::publishEvent);
+        return saved;
+    }
+
+    @Override
+    public void delete(Task task) {
+        TaskStatsKey deleted;
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            int slot = slot(task.getId());
+            if (slot == NONE) {
+                return;
+            }
+            deleted = statsKey(slot);
+            remove(slot);
+        } finally {
+            writeLock.unlock();
+        }
+        events.publishEvent(new TaskStatsChange(deleted, null));
+    }
+
+    @Override
+    public void deleteAllById(Collection<Long> ids) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            for (Long id : ids) {
+                int slot = slot(id);
+                if (slot != NONE) {
+                    remove(slot);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<TaskResponse> findPage(TaskFilter filter, SortType sort, TaskCursor after, int limit, Set<TaskField> fields) {
+        Set<TaskField> selected = TaskField.withSortKeys(fields);
+        return read(() -> page(filter, sort, after, limit, selected));
+    }
+
+    // read a batch at a time, each under the read lock, so a slow client never holds writers back
+    @Override
+    public Stream<TaskResponse> stream(TaskFilter filter, SortType sort, Set<TaskField> fields) {
+        Set<TaskField> selected = TaskField.withSortKeys(fields);
+        return Stream.iterate(findPage(filter, sort, null, STREAM_BATCH_SIZE, selected),
+                        batch -> !batch.isEmpty(),
+                        batch -> batch.size() < STREAM_BATCH_SIZE ? List.of()
+                                : findPage(filter, sort, TaskCursor.of(sort, batch.get(batch.size() - 1)), STREAM_BATCH_SIZE, selected))
+                .flatMap(List::stream)
+                .map(task -> task.retain(fields));
+    }
+
+    /**
+     * Without a {@code createdBy} filter the version comes from the buckets alone: their sizes, and the latest
+     * write each bucket has seen. A task leaving a bucket changes its size, so every change still moves the version.
+     */
+    @Override
+    public TaskSetVersion findSetVersion(TaskFilter filter) {
+        return read(() -> {
+            boolean[] buckets = buckets(filter);
+            int creator = creator(filter);
+            long count = 0;
+            long lastModified = NO_TIME;
+            for (Bucket[] day : dueRange(filter).values()) {
+                for (int i = 0; i < day.length; i++) {
+                    Bucket bucket = day[i];
+                    if (bucket == null || !buckets[i]) {
+                        continue;
+                    }
+                    if (creator == NONE) {
+                        count += bucket.size;
+                        lastModified = Math.max(lastModified, bucket.lastModified);
+                        continue;
+                    }
+                    for (int j = 0; j < bucket.size; j++) {
+                        int slot = bucket.slots[j];
+                        if (createdBy[slot] == creator) {
+                            count++;
+                            lastModified = Math.max(lastModified, changedAt(slot));
+                        }
+                    }
+                }
+            }
+            return new TaskSetVersion(count, time(lastModified));
+        });
+    }
+
+    /**
+     * Ranks like the database search does in spirit: a word of the title counts more than one of the description.
+     * Words are matched by prefix and case-insensitively, without stemming.
+     */
+    @Override
+    public List<TaskSearchHit> search(List<String> terms, TaskFilter filter, TaskSearchCursor after, int limit,
+                                      Set<TaskField> fields) {
+        Set<TaskField> selected = TaskField.withSortKeys(fields);
+        Comparator<Hit> best = Comparator.comparingDouble(Hit::rank).thenComparingInt(Hit::slot).reversed();
+        return read(() -> {
+            // the worst of the best hits so far on top, to be replaced by a better one
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, best.reversed());
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                if (!matches(slot, filter)) {
+                    continue;
+                }
+                float rank = rank(slot, terms);
+                if (rank == 0 || (after != null && (rank > after.rank() || (rank == after.rank() && slot + 1 >= after.id())))) {
+                    continue;
+                }
+                top.add(new Hit(slot, rank));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            return top.stream()
+                    .sorted(best)
+                    .map(hit -> new TaskSearchHit(toResponse(hit.slot(), selected), hit.rank()))
+                    .toList();
+        });
+    }
+
+    @Override
+    public List<TaskStatsRow> countByStatsKey() {
+        return read(() -> {
+            List<TaskStatsRow> rows = new ArrayList<>();
+            days.forEach((day, buckets) -> {
+                for (int i = 0; i < buckets.length; i++) {
+                    if (buckets[i] != null) {
+                        rows.add(new TaskStatsRow(PRIORITIES[i / 2], i % 2 == 1, LocalDate.ofEpochDay(day), buckets[i].size));
+                    }
+                }
+            });
+            return rows;
+        });
+    }
+
+    @Override
+    public List<TaskStatsRow> countByStatsKey(Collection<Long> ids) {
+        return read(() -> {
+            Map<TaskStatsKey, Long> counts = new HashMap<>();
+            for (Long id : ids) {
+                int slot = slot(id);
+                if (slot != NONE) {
+                    counts.merge(statsKey(slot), 1L, Long::sum);
+                }
+            }
+            return counts.entrySet().stream()
+                    .map(entry -> new TaskStatsRow(entry.getKey().priority(), entry.getKey().completed(),
+                            entry.getKey().dueDate(), entry.getValue()))
+                    .toList();
+        });
+    }
+
+    @Override
+    public int escalatePriority(Collection<Priority> from, Priority to, Collection<LocalDate> dueDates,
+                                LocalDateTime modifiedAt, String modifiedBy) {
+        return write(() -> {
+            int escalated = 0;
+            for (LocalDate dueDate : dueDates) {
+                Bucket[] day = days.get(Math.toIntExact(dueDate.toEpochDay()));
+                if (day != null) {
+                    escalated += escalate(day, from, to, micros(modifiedAt), userCode(modifiedBy));
+                }
+            }
+            return escalated;
+        });
+    }
+
+    @Override
+    public int escalatePriorityDueOnOrBefore(Collection<Priority> from, Priority to, LocalDate dueOnOrBefore,
+                                             LocalDateTime modifiedAt, String modifiedBy) {
+        return write(() -> {
+            int escalated = 0;
+            for (Bucket[] day : days.headMap(Math.toIntExact(dueOnOrBefore.toEpochDay()), true).values()) {
+                escalated += escalate(day, from, to, micros(modifiedAt), userCode(modifiedBy));
+            }
+            return escalated;
+        });
+    }
+
+    @Override
+    public List<AuditEntry> findHistory(Long id, int limit) {
+        return List.of();
+    }
+
+    private List<TaskResponse> page(TaskFilter filter, SortType sort, TaskCursor after, int limit, Set<TaskField> fields) {
+        List<TaskResponse> page = new ArrayList<>(Math.min(limit, STREAM_BATCH_SIZE));
+        boolean[] buckets = buckets(filter);
+        int creator = creator(filter);
+        if (creator == MISSING) {
+            return page;
+        }
+        NavigableMap<Integer, Bucket[]> range = dueRange(filter);
+        int afterDay = after != null ? Math.toIntExact(after.dueDate().toEpochDay()) : 0;
+        int afterPriority = after != null ? after.priority().ordinal() : 0;
+
+        if (sort == SortType.DUE_DATE) {
+            NavigableMap<Integer, Bucket[]> from = after != null ? range.tailMap(afterDay, true) : range;
+            for (Map.Entry<Integer, Bucket[]> day : from.entrySet()) {
+                for (int priority = 0; priority < PRIORITIES.length && page.size() < limit; priority++) {
+                    int position = after == null || day.getKey() != afterDay ? 1 : Integer.compare(priority, afterPriority);
+                    collect(day.getValue(), priority, buckets, position, after, creator, fields, page, limit);
+                }
+                if (page.size() >= limit) {
+                    break;
+                }
+            }
+            return page;
+        }
+        for (int priority = after != null ? afterPriority : 0; priority < PRIORITIES.length; priority++) {
+            NavigableMap<Integer, Bucket[]> from = after != null && priority == afterPriority
+                    ? range.tailMap(afterDay, true) : range;
+            for (Map.Entry<Integer, Bucket[]> day : from.entrySet()) {
+                int position = after == null || priority > afterPriority ? 1 : Integer.compare(day.getKey(), afterDay);
+                collect(day.getValue(), priority, buckets, position, after, creator, fields, page, limit);
+                if (page.size() >= limit) {
+                    return page;
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Adds the tasks of one due date and priority, merging the open and the completed bucket in id order.
+     * {@code position} compares the buckets' sort keys to the cursor's: before it they are skipped, on it they
+     * continue after the cursor's id.
+     */
+    private void collect(Bucket[] day, int priority, boolean[] buckets, int position, TaskCursor after, int creator,
+                         Set<TaskField> fields, List<TaskResponse> page, int limit) {
+        if (position < 0) {
+            return;
+        }
+        Bucket open = buckets[bucketIndex(priority, false)] ? day[bucketIndex(priority, false)] : null;
+        Bucket done = buckets[bucketIndex(priority, true)] ? day[bucketIndex(priority, true)] : null;
+        int afterSlot = position == 0 ? (int) (after.id() - 1) : NONE;
+        int i = open != null ? open.after(afterSlot) : 0;
+        int j = done != null ? done.after(afterSlot) : 0;
+        int openSize = open != null ? open.size : 0;
+        int doneSize = done != null ? done.size : 0;
+        while (page.size() < limit && (i < openSize || j < doneSize)) {
+            int slot = j >= doneSize || (i < openSize && open.slots[i] < done.slots[j]) ? open.slots[i++] : done.slots[j++];
+            if (creator == NONE || createdBy[slot] == creator) {
+                page.add(toResponse(slot, fields));
+            }
+        }
+    }
+
+    private int escalate(Bucket[] day, Collection<Priority> from, Priority to, long modifiedAt, int modifiedBy) {
+        int escalated = 0;
+        for (Priority priority : from) {
+            Bucket source = day[bucketIndex(priority.ordinal(), false)];
+            if (source == null || priority == to) {
+                continue;
+            }
+            for (int i = 0; i < source.size; i++) {
+                int slot = source.slots[i];
+                priorities[slot] = (byte) to.ordinal();
+                versions[slot]++;
+                lastModifiedAt[slot] = modifiedAt;
+                lastModifiedBy[slot] = modifiedBy;
+            }
+            int target = bucketIndex(to.ordinal(), false);
+            if (day[target] == null) {
+                day[target] = new Bucket();
+            }
+            day[target].addAll(source);
+            day[target].lastModified = Math.max(day[target].lastModified, modifiedAt);
+            day[bucketIndex(priority.ordinal(), false)] = null;
+            escalated += source.size;
+        }
+        return escalated;
+    }
+
+    private void check(Task task) {
+        if (task.getDueDate() == null || task.getPriority() == null) {
+            throw new IllegalArgumentException("A task needs a due date and a priority");
+        }
+        if (task.getId() == null) {
+            return;
+        }
+        int slot = slot(task.getId());
+        if (slot == NONE) {
+            throw new OptimisticLockingFailureException("Task with ID " + task.getId() + " was deleted");
+        }
+        if (!Objects.equals(task.getVersion(), versions[slot])) {
+            throw new OptimisticLockingFailureException("Task with ID " + task.getId() + " is at version "
+                    + versions[slot] + ", not " + task.getVersion());
+        }
+    }
+
+    private int insert(Task task, String user, long now) {
+        if (size == titles.length) {
+            grow(size + (size >> 1));
+        }
+        int slot = size++;
+        write(slot, task);
+        versions[slot] = 0;
+        createdBy[slot] = userCode(user);
+        createdAt[slot] = now;
+        lastModifiedBy[slot] = NONE;
+        lastModifiedAt[slot] = NO_TIME;
+        live.set(slot);
+        index(slot);
+        return slot;
+    }
+
+    private void update(int slot, Task task, String user, long now) {
+        unindex(slot);
+        write(slot, task);
+        versions[slot]++;
+        lastModifiedBy[slot] = userCode(user);
+        lastModifiedAt[slot] = now;
+        index(slot);
+    }
+
+    private void write(int slot, Task task) {
+        titles[slot] = task.getTitle();
+        descriptions[slot] = task.getDescription();
+        dueDays[slot] = Math.toIntExact(task.getDueDate().toEpochDay());
+        priorities[slot] = (byte) task.getPriority().ordinal();
+        completed.set(slot, task.isCompleted());
+    }
+
+    private void remove(int slot) {
+        unindex(slot);
+        live.clear(slot);
+        titles[slot] = null;
+        descriptions[slot] = null;
+    }
+
+    private void index(int slot) {
+        Bucket[] day = days.computeIfAbsent(dueDays[slot], key -> new Bucket[PRIORITIES.length * 2]);
+        int index = bucketIndex(priorities[slot], completed.get(slot));
+        if (day[index] == null) {
+            day[index] = new Bucket();
+        }
+        day[index].add(slot);
+        day[index].lastModified = Math.max(day[index].lastModified, changedAt(slot));
+    }
+
+    private void unindex(int slot) {
+        Bucket[] day = days.get(dueDays[slot]);
+        int index = bucketIndex(priorities[slot], completed.get(slot));
+        day[index].remove(slot);
+        if (day[index].size == 0) {
+            day[index] = null;
+            if (Arrays.stream(day).allMatch(Objects::isNull)) {
+                days.remove(dueDays[slot]);
+            }
+        }
+    }
+
+    private void grow(int capacity) {
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        dueDays = Arrays.copyOf(dueDays, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        createdBy = Arrays.copyOf(createdBy, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        lastModifiedBy = Arrays.copyOf(lastModifiedBy, capacity);
+        lastModifiedAt = Arrays.copyOf(lastModifiedAt, capacity);
+    }
+
+    private int slot(Long id) {
+        if (id == null || id < 1 || id > size) {
+            return NONE;
+        }
+        int slot = (int) (id - 1);
+        return live.get(slot) ? slot : NONE;
+    }
+
+    private static int bucketIndex(int priority, boolean isCompleted) {
+        return priority * 2 + (isCompleted ? 1 : 0);
+    }
+
+    // which buckets of a day the completed and priority filters keep
+    private static boolean[] buckets(TaskFilter filter) {
+        boolean[] buckets = new boolean[PRIORITIES.length * 2];
+        for (Priority priority : PRIORITIES) {
+            if (filter == null || filter.getPriority() == null || filter.getPriority().contains(priority)) {
+                for (boolean isCompleted : new boolean[]{false, true}) {
+                    buckets[bucketIndex(priority.ordinal(), isCompleted)] = filter == null
+                            || filter.getCompleted() == null || filter.getCompleted() == isCompleted;
+                }
+            }
+        }
+        return buckets;
+    }
+
+    private NavigableMap<Integer, Bucket[]> dueRange(TaskFilter filter) {
+        NavigableMap<Integer, Bucket[]> range = days;
+        if (filter != null && filter.getDueFrom() != null) {
+            range = range.tailMap(Math.toIntExact(filter.getDueFrom().toEpochDay()), true);
+        }
+        if (filter != null && filter.getDueTo() != null) {
+            range = range.headMap(Math.toIntExact(filter.getDueTo().toEpochDay()), true);
+        }
+        return range;
+    }
+
+    // the user code to filter on, NONE for no filter, MISSING for a user who never created a task
+    private int creator(TaskFilter filter) {
+        if (filter == null || filter.getCreatedBy() == null) {
+            return NONE;
+        }
+        return userCodes.getOrDefault(filter.getCreatedBy(), MISSING);
+    }
+
+    private boolean matches(int slot, TaskFilter filter) {
+        if (filter == null) {
+            return true;
+        }
+        LocalDate dueDate = LocalDate.ofEpochDay(dueDays[slot]);
+        return (filter.getCompleted() == null || filter.getCompleted() == completed.get(slot))
+                && (filter.getPriority() == null || filter.getPriority().contains(PRIORITIES[priorities[slot]]))
+                && (filter.getDueFrom() == null || !dueDate.isBefore(filter.getDueFrom()))
+                && (filter.getDueTo() == null || !dueDate.isAfter(filter.getDueTo()))
+                && (filter.getCreatedBy() == null || filter.getCreatedBy().equals(user(createdBy[slot])));
+    }
+
+    private float rank(int slot, List<String> terms) {
+        float rank = 0;
+        for (String term : terms) {
+            if (hasWordStartingWith(titles[slot], term)) {
+                rank += TITLE_WEIGHT;
+            } else if (hasWordStartingWith(descriptions[slot], term)) {
+                rank += DESCRIPTION_WEIGHT;
+            } else {
+                return 0;
+            }
+        }
+        return rank;
+    }
+
+    private static boolean hasWordStartingWith(String text, String prefix) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0; i + prefix.length() <= text.length(); i++) {
+            if ((i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))
+                    && text.regionMatches(true, i, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TaskStatsKey statsKey(int slot) {
+        return new TaskStatsKey(PRIORITIES[priorities[slot]], completed.get(slot), LocalDate.ofEpochDay(dueDays[slot]));
+    }
+
+    private long changedAt(int slot) {
+        return lastModifiedAt[slot] != NO_TIME ? lastModifiedAt[slot] : createdAt[slot];
+    }
+
+    private Task toTask(int slot) {
+        Task task = Task.builder()
+                .id(slot + 1L)
+                .title(titles[slot])
+                .description(descriptions[slot])
+                .dueDate(LocalDate.ofEpochDay(dueDays[slot]))
+                .priority(PRIORITIES[priorities[slot]])
+                .isCompleted(completed.get(slot))
+                .version(versions[slot])
+                .build();
+        task.setCreatedBy(user(createdBy[slot]));
+        task.setCreatedDate(time(createdAt[slot]));
+        task.setLastModifiedBy(user(lastModifiedBy[slot]));
+        task.setLastModifiedDate(time(lastModifiedAt[slot]));
+        return task;
+    }
+
+    private TaskResponse toResponse(int slot, Set<TaskField> fields) {
+        TaskResponse response = new TaskResponse();
+        for (TaskField field : fields) {
+            response.set(field, switch (field) {
+                case ID -> slot + 1L;
+                case TITLE -> titles[slot];
+                case DESCRIPTION -> descriptions[slot];
+                case DUE_DATE -> LocalDate.ofEpochDay(dueDays[slot]);
+                case PRIORITY -> PRIORITIES[priorities[slot]];
+                case COMPLETED -> completed.get(slot);
+                case VERSION -> versions[slot];
+                case CREATED_BY -> user(createdBy[slot]);
+                case CREATED_DATE -> time(createdAt[slot]);
+                case LAST_MODIFIED_BY -> user(lastModifiedBy[slot]);
+                case LAST_MODIFIED_DATE -> time(lastModifiedAt[slot]);
+            });
+        }
+        return response;
+    }
+
+    private int userCode(String user) {
+        if (user == null) {
+            return NONE;
+        }
+        return userCodes.computeIfAbsent(user, key -> {
+            users.add(key);
+            return users.size() - 1;
+        });
+    }
+
+    private String user(int code) {
+        return code == NONE ? null : users.get(code);
+    }
+
+    // microseconds, the precision Postgres keeps
+    private static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime time(long micros) {
+        if (micros == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private <T> T read(Supplier<T> action) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return action.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> action) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            return action.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private record Hit(int slot, float rank) {
+    }
+
+    /**
+     * Slots in ascending order. Inserts almost always append, since new tasks get the highest id.
+     */
+    private static final class Bucket {
+
+        private int[] slots = new int[4];
+        private int size;
+        // the latest write that put a task here; stays when the task leaves, see findSetVersion
+        private long lastModified = NO_TIME;
+
+        void add(int slot) {
+            int at = size == 0 || slots[size - 1] < slot ? size : -(Arrays.binarySearch(slots, 0, size, slot) + 1);
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            slots[at] = slot;
+            size++;
+        }
+
+        void addAll(Bucket other) {
+            int[] merged = new int[Math.max(size + other.size, 4)];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < size || j < other.size) {
+                merged[k++] = j >= other.size || (i < size && slots[i] < other.slots[j]) ? slots[i++] : other.slots[j++];
+            }
+            slots = merged;
+            size = k;
+        }
+
+        void remove(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+            size--;
+        }
+
+        // index of the first slot after the given one
+        int after(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            return at >= 0 ? at + 1 : -(at + 1);
+        }
+    }
+}
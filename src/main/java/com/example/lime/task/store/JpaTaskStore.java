@@ -0,0 +1,143 @@
+package com.example.lime.task.store;
+
+import com.example.lime.audit.AuditAction;
+import com.example.lime.audit.AuditEntry;
+import com.example.lime.audit.AuditListener;
+import com.example.lime.audit.AuditLogRepository;
+import com.example.lime.audit.AuditLogWriter;
+import com.example.lime.task.Task;
+import com.example.lime.task.TaskCursor;
+import com.example.lime.task.TaskFilter;
+import com.example.lime.task.TaskRepository;
+import com.example.lime.task.TaskSearch;
+import com.example.lime.task.TaskSearchCursor;
+import com.example.lime.task.TaskSearchHit;
+import com.example.lime.task.TaskSetVersion;
+import com.example.lime.task.TaskSpecifications;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import com.example.lime.task.stats.TaskStatsRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Tasks in Postgres, through {@link TaskRepository}. Statistics and the audit trail follow single-task writes
+ * through Hibernate's events.
+ */
+@Component
+@ConditionalOnProperty(name = "task.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaTaskStore implements TaskStore {
+
+    private final TaskRepository taskRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditLogRepository auditLogRepository;
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return taskRepository.findById(id);
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        return taskRepository.findAllById(ids);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return taskRepository.findVersionById(id);
+    }
+
+    @Override
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        return taskRepository.findExistingIds(ids);
+    }
+
+    @Override
+    public Task save(Task task) {
+        return taskRepository.save(task);
+    }
+
+    // ids come from the pooled sequence, so the inserts are sent as JDBC batches on flush
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        return taskRepository.saveAll(tasks);
+    }
+
+    @Override
+    public void delete(Task task) {
+        taskRepository.delete(task);
+    }
+
+    @Override
+    public void deleteAllById(Collection<Long> ids) {
+        taskRepository.deleteAllByIdInBatch(ids);
+        // the batch delete skips Hibernate's events, so the audit entries are recorded here, without the old state
+        String user = AuditListener.currentUser();
+        LocalDateTime now = LocalDateTime.now();
+        auditLogWriter.publishAfterCommit(ids.stream()
+                .map(id -> new AuditEntry(Task.class.getSimpleName(), id, AuditAction.DELETED, null, Map.of(), user, now))
+                .toList());
+    }
+
+    @Override
+    public List<TaskResponse> findPage(TaskFilter filter, SortType sort, TaskCursor after, int limit, Set<TaskField> fields) {
+        return taskRepository.findPage(TaskSpecifications.matching(filter), sort, after, limit, fields);
+    }
+
+    @Override
+    public Stream<TaskResponse> stream(TaskFilter filter, SortType sort, Set<TaskField> fields) {
+        return taskRepository.stream(TaskSpecifications.matching(filter), sort, fields);
+    }
+
+    @Override
+    public TaskSetVersion findSetVersion(TaskFilter filter) {
+        return taskRepository.findSetVersion(TaskSpecifications.matching(filter));
+    }
+
+    @Override
+    public List<TaskSearchHit> search(List<String> terms, TaskFilter filter, TaskSearchCursor after, int limit,
+                                      Set<TaskField> fields) {
+        return taskRepository.search(TaskSearch.prefixQuery(terms), filter, after, limit, fields);
+    }
+
+    @Override
+    public List<TaskStatsRow> countByStatsKey() {
+        return taskRepository.countByStatsKey();
+    }
+
+    @Override
+    public List<TaskStatsRow> countByStatsKey(Collection<Long> ids) {
+        return taskRepository.countByStatsKey(ids);
+    }
+
+    @Override
+    public int escalatePriority(Collection<Priority> from, Priority to, Collection<LocalDate> dueDates,
+                                LocalDateTime modifiedAt, String modifiedBy) {
+        return taskRepository.escalatePriority(from, to, dueDates, modifiedAt, modifiedBy);
+    }
+
+    @Override
+    public int escalatePriorityDueOnOrBefore(Collection<Priority> from, Priority to, LocalDate dueOnOrBefore,
+                                             LocalDateTime modifiedAt, String modifiedBy) {
+        return taskRepository.escalatePriorityDueOnOrBefore(from, to, dueOnOrBefore, modifiedAt, modifiedBy);
+    }
+
+    // entries reach the audit log shortly after their transaction commits
+    @Override
+    public List<AuditEntry> findHistory(Long id, int limit) {
+        return auditLogRepository.findByEntity(Task.class.getSimpleName(), id, limit);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.lime.task.store;
+
+import com.example.lime.audit.AuditEntry;
+import com.example.lime.task.Task;
+import com.example.lime.task.TaskCursor;
+import com.example.lime.task.TaskFilter;
+import com.example.lime.task.TaskSearchCursor;
+import com.example.lime.task.TaskSearchHit;
+import com.example.lime.task.TaskSetVersion;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import com.example.lime.task.stats.TaskStatsRow;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Where the task service and the background jobs keep tasks, chosen with {@code task.store}: {@code jpa} (the
+ * default) for Postgres, {@code memory} for {@link InMemoryTaskStore}.
+ * <p>
+ * {@link #save}, {@link #saveAll} and {@link #delete} keep the task statistics current. The bulk
+ * {@link #deleteAllById} and escalations do not, just like Hibernate's events miss bulk statements; their callers
+ * update or reconcile the counters themselves.
+ */
+public interface TaskStore {
+
+    Optional<Task> findById(Long id);
+
+    List<Task> findAllById(Collection<Long> ids);
+
+    Optional<Long> findVersionById(Long id);
+
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Inserts a task without an id, or updates the stored one, failing with an
+     * {@link org.springframework.dao.OptimisticLockingFailureException} when its version is no longer current.
+     */
+    Task save(Task task);
+
+    List<Task> saveAll(List<Task> tasks);
+
+    void delete(Task task);
+
+    /**
+     * Deletes the tasks with these ids, which must exist, in one go.
+     */
+    void deleteAllById(Collection<Long> ids);
+
+    /**
+     * Reads only the given fields, plus the sort keys the cursor is built from.
+     */
+    List<TaskResponse> findPage(TaskFilter filter, SortType sort, TaskCursor after, int limit, Set<TaskField> fields);
+
+    Stream<TaskResponse> stream(TaskFilter filter, SortType sort, Set<TaskField> fields);
+
+    TaskSetVersion findSetVersion(TaskFilter filter);
+
+    /**
+     * Tasks whose title or description has a word starting with each of {@code terms}, best matches first.
+     */
+    List<TaskSearchHit> search(List<String> terms, TaskFilter filter, TaskSearchCursor after, int limit, Set<TaskField> fields);
+
+    List<TaskStatsRow> countByStatsKey();
+
+    List<TaskStatsRow> countByStatsKey(Collection<Long> ids);
+
+    int escalatePriority(Collection<Priority> from, Priority to, Collection<LocalDate> dueDates,
+                         LocalDateTime modifiedAt, String modifiedBy);
+
+    int escalatePriorityDueOnOrBefore(Collection<Priority> from, Priority to, LocalDate dueOnOrBefore,
+                                      LocalDateTime modifiedAt, String modifiedBy);
+
+    /**
+     * The audit trail of a task, newest first; empty where the store keeps none.
+     */
+    List<AuditEntry> findHistory(Long id, int limit);
+}
@@ -0,0 +1,197 @@
+package com.example.lime.task.transfer;
+
+import com.example.lime.audit.AuditAction;
+import com.example.lime.task.Task;
+import com.example.lime.task.TaskPriorityRules;
+import com.example.lime.task.enums.Priority;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves tasks in and out of Postgres with {@code COPY}, which streams rows in the server's own wire format instead of
+ * one statement or one entity per task. Runs in the caller's transaction; an import must have one, since its staging
+ * table lives until the transaction ends.
+ */
+@Repository
+@ConditionalOnProperty(name = "task.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TaskCopyRepository {
+
+    private static final int MAX_REPORTED_ROWS = 10;
+    private static final String DATA_EXCEPTION = "22";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes every task to {@code out}, in no particular order, with the priority it has as of {@code today}. Returns
+     * the number of tasks written.
+     */
+    public long copyOut(TaskTransferFormat format, OutputStream out, LocalDate today) {
+        // stored priorities escalate overnight; HIGH already holds for critical tasks, so it counts as critical
+        String priority = TaskPriorityRules.sqlName(TaskPriorityRules.sql("priority = " + Priority.HIGH.getCode(),
+                "is_completed", "due_date", today));
+        String sql = switch (format) {
+            case CSV -> "COPY (SELECT id, title, description, due_date AS \"dueDate\", " + priority + " AS priority, "
+                    + "is_completed AS completed, version, created_by AS \"createdBy\", created_date AS \"createdDate\", "
+                    + "last_modified_by AS \"lastModifiedBy\", last_modified_date AS \"lastModifiedDate\" FROM task) "
+                    + "TO STDOUT WITH (FORMAT csv, HEADER)";
+            // the same keys as TaskResponse; CSV quoting with characters JSON never contains raw leaves lines as they are
+            case NDJSON -> "COPY (SELECT json_strip_nulls(json_build_object('id', id, 'title', title, "
+                    + "'description', description, 'dueDate', due_date, 'priority', " + priority + ", "
+                    + "'completed', is_completed, 'version', version, 'createdBy', created_by, 'createdDate', created_date, "
+                    + "'lastModifiedBy', last_modified_by, 'lastModifiedDate', last_modified_date)) FROM task) "
+                    + "TO STDOUT WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')";
+        };
+        return copy(copyManager -> copyManager.copyOut(sql, out));
+    }
+
+    /**
+     * Copies {@code in} into a staging table, checks every row as {@code POST /tasks} would, and inserts the tasks
+     * with priorities as of {@code today}, recording them in the audit log. Returns the number of tasks imported;
+     * when any row is invalid, none are.
+     */
+    public long copyIn(TaskImportTable table, InputStream in, LocalDate today, String user) {
+        try {
+            return stageAndInsert(table, in, today, user);
+        } catch (DataAccessException e) {
+            // malformed files and values that do not fit a column, e.g. a date that is no date
+            if (e.getMostSpecificCause() instanceof SQLException cause && cause.getSQLState() != null
+                    && cause.getSQLState().startsWith(DATA_EXCEPTION)) {
+                throw new IllegalArgumentException("Nothing was imported. " + cause.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+
+    private long stageAndInsert(TaskImportTable table, InputStream in, LocalDate today, String user) {
+        jdbcTemplate.execute(table.create());
+        copy(copyManager -> copyManager.copyIn(table.copy(), in));
+
+        String title = table.field("title");
+        String description = table.field("description");
+        String dueDate = "(" + table.field("dueDate") + ")::date";
+        String priority = table.field("priority");
+        checkRows(table, title, description, dueDate, priority);
+
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + TaskImportTable.NAME + " s WHERE "
+                + table.rows(), Long.class);
+        if (count == null || count == 0) {
+            return 0;
+        }
+
+        String completed = "coalesce((" + table.field("completed") + ")::boolean, false)";
+        String critical = "coalesce((" + table.field("critical") + ")::boolean, " + priority + " = '"
+                + Priority.HIGH.name() + "', false)";
+        LocalDateTime now = LocalDateTime.now();
+        String sql = "WITH blocks AS (SELECT hi, n FROM unnest(?::bigint[]) WITH ORDINALITY AS b(hi, n)), "
+                + "imported AS (SELECT row_number() OVER (ORDER BY s.row_number) - 1 AS i, " + title + " AS title, "
+                + description + " AS description, " + dueDate + " AS due_date, " + completed + " AS completed, "
+                + critical + " AS critical FROM " + TaskImportTable.NAME + " s WHERE " + table.rows() + "), "
+                + "inserted AS (INSERT INTO task (id, title, description, due_date, priority, is_completed, version, "
+                + "created_by, created_date) "
+                + "SELECT b.hi - " + (Task.ID_ALLOCATION_SIZE - 1) + " + r.i % " + Task.ID_ALLOCATION_SIZE + ", "
+                + "r.title, r.description, r.due_date, "
+                + TaskPriorityRules.sql("r.critical", "r.completed", "r.due_date", today) + ", r.completed, 0, ?, ? "
+                + "FROM imported r JOIN blocks b ON b.n = r.i / " + Task.ID_ALLOCATION_SIZE + " + 1 "
+                + "RETURNING id, title, description, due_date, priority, is_completed, created_by, created_date) "
+                // the entry the audit listener would have written for each task, had it been created one by one
+                + "INSERT INTO audit_log (entity_type, entity_id, action, version, changes, changed_by, changed_at) "
+                + "SELECT '" + Task.class.getSimpleName() + "', id, '" + AuditAction.CREATED.name() + "', 0, "
+                + "jsonb_build_object('title', " + created("title") + ", 'description', " + created("description")
+                + ", 'dueDate', " + created("due_date") + ", 'priority', " + created(TaskPriorityRules.sqlName("priority"))
+                + ", 'isCompleted', " + created("is_completed") + "), created_by, created_date FROM inserted";
+        return jdbcTemplate.update(sql, reserveIds(count), user, Timestamp.valueOf(now));
+    }
+
+    private void checkRows(TaskImportTable table, String title, String description, String dueDate, String priority) {
+        List<String> errors = jdbcTemplate.query("SELECT row_number, title, description, due_date, priority FROM ("
+                        + "SELECT s.row_number, " + title + " AS title, " + description + " AS description, " + dueDate
+                        + " AS due_date, " + priority + " AS priority FROM " + TaskImportTable.NAME + " s WHERE "
+                        + table.rows() + ") r "
+                        + "WHERE title IS NULL OR length(title) < 3 OR description IS NULL OR length(description) < 3 "
+                        + "OR due_date IS NULL OR priority NOT IN ('HIGH', 'MEDIUM', 'LOW') "
+                        + "ORDER BY row_number LIMIT " + MAX_REPORTED_ROWS,
+                (rs, rowNum) -> "Row " + rs.getLong("row_number") + ": " + String.join(", ", rowErrors(
+                        rs.getString("title"), rs.getString("description"), rs.getObject("due_date"),
+                        rs.getString("priority"))));
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Nothing was imported. " + String.join("; ", errors)
+                    + (errors.size() == MAX_REPORTED_ROWS ? "; ..." : ""));
+        }
+    }
+
+    // the messages of CreateTaskRequest's constraints
+    private static List<String> rowErrors(String title, String description, Object dueDate, String priority) {
+        List<String> errors = new ArrayList<>();
+        if (title == null) {
+            errors.add("Field 'title': must not be null");
+        } else if (title.length() < 3) {
+            errors.add("Field 'title': Title must be at least 3 characters long");
+        }
+        if (description == null) {
+            errors.add("Field 'description': must not be null");
+        } else if (description.length() < 3) {
+            errors.add("Field 'description': Description must be at least 3 characters long");
+        }
+        if (dueDate == null) {
+            errors.add("Field 'dueDate': must not be null");
+        }
+        if (priority != null && !Set.of("HIGH", "MEDIUM", "LOW").contains(priority)) {
+            errors.add("Field 'priority': must be HIGH, MEDIUM or LOW");
+        }
+        return errors;
+    }
+
+    /**
+     * Takes one value of {@code task_seq} per {@link Task#ID_ALLOCATION_SIZE} tasks. Like Hibernate's pooled
+     * optimizer, each value {@code hi} stands for the ids from {@code hi - ID_ALLOCATION_SIZE + 1} to {@code hi}, so
+     * imported ids never collide with the ones the application hands out.
+     */
+    private Long[] reserveIds(long count) {
+        long blocks = (count + Task.ID_ALLOCATION_SIZE - 1) / Task.ID_ALLOCATION_SIZE;
+        // one more than needed: the first value of a new sequence covers no ids but itself
+        List<Long> values = jdbcTemplate.queryForList("SELECT nextval('task_seq') FROM generate_series(1, ?)",
+                Long.class, blocks + 1);
+        return values.stream()
+                .filter(hi -> hi >= Task.ID_ALLOCATION_SIZE)
+                .limit(blocks)
+                .toArray(Long[]::new);
+    }
+
+    private long copy(CopyOperation operation) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return operation.run(connection.unwrap(PGConnection.class).getCopyAPI());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String created(String column) {
+        return "jsonb_build_object('from', NULL, 'to', " + column + ")";
+    }
+
+    @FunctionalInterface
+    private interface CopyOperation {
+        long run(CopyManager copyManager) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.lime.task.transfer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The temporary table an import is copied into before it is checked and moved to {@code task}, and the SQL that
+ * reads each field of a task from it. A CSV file gets a text column per column of its header, an NDJSON file a single
+ * {@code jsonb} column; either way, rows are numbered in file order to point out the invalid ones.
+ */
+final class TaskImportTable {
+
+    static final String NAME = "task_import";
+    static final List<String> FIELDS = List.of("title", "description", "dueDate", "completed", "critical", "priority");
+    static final Set<String> REQUIRED_FIELDS = Set.of("title", "description", "dueDate");
+
+    private static final int MAX_HEADER_BYTES = 8192;
+    // what an export writes besides the fields above; assigned anew on import
+    private static final Set<String> IGNORED_COLUMNS = Set.of("id", "version", "createdby", "createddate",
+            "lastmodifiedby", "lastmodifieddate");
+
+    private final String columns;
+    private final String copy;
+    private final String rows;
+    private final Map<String, String> fields;
+
+    private TaskImportTable(String columns, String copy, String rows, Map<String, String> fields) {
+        this.columns = columns;
+        this.copy = copy;
+        this.rows = rows;
+        this.fields = fields;
+    }
+
+    /**
+     * For a CSV file whose header line, without the line break, is {@code header}. Column names are matched
+     * ignoring case and underscores, so {@code due_date} and {@code is_completed} work as well.
+     */
+    static TaskImportTable csv(String header) {
+        List<String> names = splitHeader(header);
+        List<String> columns = new ArrayList<>(names.size());
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String column = "c" + (i + 1);
+            columns.add(column);
+            String normalized = names.get(i).toLowerCase(Locale.ROOT).replace("_", "");
+            if (IGNORED_COLUMNS.contains(normalized)) {
+                continue;
+            }
+            String field = fieldOf(normalized);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown column '" + names.get(i) + "'");
+            }
+            if (fields.put(field, "s." + column) != null) {
+                throw new IllegalArgumentException("Column '" + field + "' appears more than once");
+            }
+        }
+        for (String required : REQUIRED_FIELDS) {
+            if (!fields.containsKey(required)) {
+                throw new IllegalArgumentException("Missing column '" + required + "'");
+            }
+        }
+        return new TaskImportTable(
+                String.join(" text, ", columns) + " text",
+                "COPY " + NAME + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)",
+                "TRUE",
+                fields);
+    }
+
+    /**
+     * For an NDJSON file. Lines are read whole into {@code jsonb}: with CSV quoting and delimiter characters that
+     * valid JSON cannot contain raw, nothing in a line is unescaped on the way in. Blank lines are skipped.
+     */
+    static TaskImportTable ndjson() {
+        Map<String, String> fields = new HashMap<>();
+        for (String field : FIELDS) {
+            fields.put(field, "s.doc ->> '" + field + "'");
+        }
+        return new TaskImportTable(
+                "doc jsonb",
+                "COPY " + NAME + " (doc) FROM STDIN WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')",
+                "s.doc IS NOT NULL",
+                fields);
+    }
+
+    String create() {
+        return "CREATE TEMPORARY TABLE " + NAME + " (row_number bigint GENERATED ALWAYS AS IDENTITY, " + columns
+                + ") ON COMMIT DROP";
+    }
+
+    String copy() {
+        return copy;
+    }
+
+    /**
+     * The condition on {@code s}, the table, that selects the rows holding a task.
+     */
+    String rows() {
+        return rows;
+    }
+
+    /**
+     * The text of {@code field} in row {@code s}, or NULL when the file does not have it.
+     */
+    String field(String field) {
+        return fields.getOrDefault(field, "NULL");
+    }
+
+    /**
+     * Reads the first line of {@code in}, leaving the stream at the start of the second.
+     */
+    static String readHeader(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b == -1) {
+                break;
+            }
+            if (line.size() == MAX_HEADER_BYTES) {
+                throw new IllegalArgumentException("The header line is longer than " + MAX_HEADER_BYTES + " bytes");
+            }
+            line.write(b);
+        }
+        String header = line.toString(StandardCharsets.UTF_8);
+        return header.endsWith("\r") ? header.substring(0, header.length() - 1) : header;
+    }
+
+    private static List<String> splitHeader(String header) {
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        if (header.isBlank()) {
+            throw new IllegalArgumentException("The file must start with a header line naming the columns");
+        }
+        List<String> names = new ArrayList<>();
+        for (String name : header.split(",", -1)) {
+            name = name.strip();
+            if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+                name = name.substring(1, name.length() - 1);
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    private static String fieldOf(String normalizedColumn) {
+        return switch (normalizedColumn) {
+            case "title" -> "title";
+            case "description" -> "description";
+            case "duedate" -> "dueDate";
+            case "completed", "iscompleted" -> "completed";
+            case "critical", "iscritical" -> "critical";
+            case "priority" -> "priority";
+            default -> null;
+        };
+    }
+}
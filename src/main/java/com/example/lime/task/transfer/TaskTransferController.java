@@ -0,0 +1,53 @@
+package com.example.lime.task.transfer;
+
+import com.example.lime.task.dto.response.TaskTransferResult;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/tasks")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "task.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TaskTransferController {
+
+    private final TaskTransferService taskTransferService;
+
+    // written on the request thread rather than as a StreamingResponseBody, which the async timeout would cut short
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportTasks(@RequestParam(defaultValue = "CSV") TaskTransferFormat format,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("tasks." + format.name().toLowerCase(Locale.ROOT))
+                .build()
+                .toString());
+        taskTransferService.exportTasks(format, response.getOutputStream());
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TaskTransferResult> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                          InputStream body) throws IOException {
+        TaskTransferFormat format = TaskTransferFormat.of(MediaType.parseMediaType(contentType));
+        return ResponseEntity.ok(taskTransferService.importTasks(format, body));
+    }
+}
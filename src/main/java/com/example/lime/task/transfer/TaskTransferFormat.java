@@ -0,0 +1,30 @@
+package com.example.lime.task.transfer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * How tasks are written by {@code GET /tasks/export} and read by {@code POST /tasks/import}. Both formats use the
+ * field names of the API, so an export can be imported again as it is.
+ */
+@RequiredArgsConstructor
+@Getter
+public enum TaskTransferFormat {
+
+    /** With a header line naming the columns. */
+    CSV(new MediaType("text", "csv")),
+    /** One JSON object per line. */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"));
+
+    private final MediaType mediaType;
+
+    public static TaskTransferFormat of(MediaType contentType) {
+        for (TaskTransferFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Tasks can only be imported as text/csv or application/x-ndjson");
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.lime.task.transfer;
+
+import com.example.lime.audit.AuditListener;
+import com.example.lime.task.TaskCaches;
+import com.example.lime.task.dto.response.TaskTransferResult;
+import com.example.lime.task.stats.TaskStatsCounters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk export and import of all tasks, for warehouse dumps and test fixtures. Both go through {@code COPY} and never
+ * load a task into memory, so they handle millions of rows at the speed of the database. Priorities are computed as
+ * of today by {@link com.example.lime.task.TaskPriorityRules}, as for tasks created through the API.
+ */
+@Service
+@ConditionalOnProperty(name = "task.store", havingValue = "jpa", matchIfMissing = true)
+public class TaskTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTransferService.class);
+
+    private static final int IMPORT_BUFFER_SIZE = 64 * 1024;
+
+    private final TaskCopyRepository taskCopyRepository;
+    private final TaskCaches taskCaches;
+    private final TaskStatsCounters taskStatsCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer exportTimer;
+    private final Timer importTimer;
+    private final Counter exportedRows;
+    private final Counter importedRows;
+
+    public TaskTransferService(TaskCopyRepository taskCopyRepository,
+                               TaskCaches taskCaches,
+                               TaskStatsCounters taskStatsCounters,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.taskCopyRepository = taskCopyRepository;
+        this.taskCaches = taskCaches;
+        this.taskStatsCounters = taskStatsCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.exportTimer = timer(meterRegistry, "export");
+        this.importTimer = timer(meterRegistry, "import");
+        this.exportedRows = rows(meterRegistry, "export");
+        this.importedRows = rows(meterRegistry, "import");
+    }
+
+    @Transactional(readOnly = true)
+    public TaskTransferResult exportTasks(TaskTransferFormat format, OutputStream out) {
+        long startTime = System.nanoTime();
+        long rows = taskCopyRepository.copyOut(format, out, LocalDate.now());
+        TaskTransferResult result = record(exportTimer, exportedRows, rows, startTime);
+        logger.info("Exported {} tasks as {} in {}ms ({} rows/s)", rows, format, result.getMillis(),
+                result.getRowsPerSecond());
+        return result;
+    }
+
+    /**
+     * Imports every task in {@code body}, or none when one of them is invalid.
+     */
+    public TaskTransferResult importTasks(TaskTransferFormat format, InputStream body) throws IOException {
+        long startTime = System.nanoTime();
+        InputStream in = new BufferedInputStream(body, IMPORT_BUFFER_SIZE);
+        TaskImportTable table = format == TaskTransferFormat.CSV
+                ? TaskImportTable.csv(TaskImportTable.readHeader(in))
+                : TaskImportTable.ndjson();
+        String user = AuditListener.currentUser();
+
+        Long imported = transactionTemplate.execute(status -> taskCopyRepository.copyIn(table, in, LocalDate.now(), user));
+        long rows = imported != null ? imported : 0;
+        if (rows > 0) {
+            // the inserts bypass Hibernate's events, so the counters are recounted as after the reprioritization job
+            taskCaches.evictPages();
+            taskStatsCounters.reconcile();
+        }
+        TaskTransferResult result = record(importTimer, importedRows, rows, startTime);
+        logger.info("Imported {} tasks from {} in {}ms ({} rows/s)", rows, format, result.getMillis(),
+                result.getRowsPerSecond());
+        return result;
+    }
+
+    private static TaskTransferResult record(Timer timer, Counter counter, long rows, long startTime) {
+        long elapsed = System.nanoTime() - startTime;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+        counter.increment(rows);
+        long rowsPerSecond = elapsed > 0 ? rows * TimeUnit.SECONDS.toNanos(1) / elapsed : 0;
+        return new TaskTransferResult(rows, TimeUnit.NANOSECONDS.toMillis(elapsed), rowsPerSecond);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String direction) {
+        return Timer.builder("task.transfer.duration")
+                .description("Time taken by a bulk export or import")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    private static Counter rows(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("task.transfer.rows")
+                .description("Tasks exported or imported in bulk")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,6 @@
+-- full-text search document, kept up to date by PostgreSQL on every write; titles rank above descriptions
+ALTER TABLE task ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_task_search_vector ON task USING gin (search_vector);
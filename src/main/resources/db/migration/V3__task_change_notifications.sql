@@ -0,0 +1,16 @@
+-- announces every row change on task to LISTEN task_changes; the payload stays small, listeners read the row itself
+CREATE SEQUENCE IF NOT EXISTS task_change_seq;
+
+CREATE OR REPLACE FUNCTION notify_task_change() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('task_changes', json_build_object(
+            'id', nextval('task_change_seq'),
+            'op', TG_OP,
+            'taskId', CASE WHEN TG_OP = 'DELETE' THEN OLD.id ELSE NEW.id END)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER task_changes
+    AFTER INSERT OR UPDATE OR DELETE ON task
+    FOR EACH ROW EXECUTE FUNCTION notify_task_change();
@@ -0,0 +1,26 @@
+-- append-only history of entity changes, partitioned by month; AuditLogWriter creates the monthly partitions ahead
+CREATE TABLE IF NOT EXISTS audit_log (
+    id          bigserial,
+    entity_type varchar(64) NOT NULL,
+    entity_id   bigint      NOT NULL,
+    action      varchar(16) NOT NULL,
+    version     bigint,
+    changes     jsonb       NOT NULL,
+    changed_by  varchar(255),
+    changed_at  timestamp   NOT NULL
+) PARTITION BY RANGE (changed_at);
+
+-- catches rows when a monthly partition is missing, e.g. after the writer could not create it in time
+CREATE TABLE IF NOT EXISTS audit_log_default PARTITION OF audit_log DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_audit_log_entity ON audit_log (entity_type, entity_id, changed_at);
+
+CREATE OR REPLACE FUNCTION audit_log_append_only() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'audit_log is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER audit_log_append_only
+    BEFORE UPDATE OR DELETE ON audit_log
+    FOR EACH ROW EXECUTE FUNCTION audit_log_append_only();
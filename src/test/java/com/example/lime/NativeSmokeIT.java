@@ -0,0 +1,196 @@
+package com.example.lime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Starts the native executable ({@code -Pnative verify}) against the database in {@code SPRING_DATASOURCE_URL}, by
+ * default the one from docker-compose, and goes through the paths that depend on reachability hints: JWTs, JSON
+ * bodies, JPA and native queries, and NDJSON streaming.
+ */
+class NativeSmokeIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeSmokeIT.class);
+
+    private static final Pattern STARTED = Pattern.compile("Started LimeApplication in ([0-9.]+) seconds");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private static final HttpClient http = HttpClient.newHttpClient();
+    private static final List<String> output = new CopyOnWriteArrayList<>();
+
+    private static Process application;
+    private static String baseUrl;
+    private static double startupSeconds;
+    private static long residentMegabytes;
+
+    @BeforeAll
+    static void start() throws Exception {
+        String executable = System.getProperty("native.executable");
+        assumeTrue(executable != null && Files.isExecutable(Path.of(executable)), "no native executable to test");
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        baseUrl = "http://localhost:" + port;
+        ProcessBuilder builder = new ProcessBuilder(executable, "--server.port=" + port).redirectErrorStream(true);
+        Map<String, String> env = builder.environment();
+        env.putIfAbsent("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/postgres");
+        env.putIfAbsent("SPRING_DATASOURCE_USERNAME", "test");
+        env.putIfAbsent("SPRING_DATASOURCE_PASSWORD", "test");
+        application = builder.start();
+
+        CompletableFuture<Double> started = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(application.getInputStream()))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    output.add(line);
+                    Matcher matcher = STARTED.matcher(line);
+                    if (matcher.find()) {
+                        started.complete(Double.parseDouble(matcher.group(1)));
+                    }
+                }
+            } catch (IOException ignored) {
+                // the process was stopped
+            }
+            started.completeExceptionally(new IllegalStateException("exited before starting:\n" + String.join("\n", output)));
+        });
+        startupSeconds = started.get(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        residentMegabytes = residentMegabytes();
+        logger.info("Native startup took {} s, RSS {} MB", startupSeconds, residentMegabytes);
+    }
+
+    @AfterAll
+    static void stop() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            application.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void startsInUnderASecond() {
+        assertThat(startupSeconds).as("startup seconds, with RSS at %d MB", residentMegabytes).isLessThan(1.0);
+    }
+
+    @Test
+    void health_ShouldBeUp() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/actuator/health")));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(json(response).path("status").asText()).isEqualTo("UP");
+    }
+
+    @Test
+    void tasks_ShouldBeCreatedFoundStreamedAndDeleted_WithAdminToken() throws Exception {
+        String token = send(HttpRequest.newBuilder(uri("/auth?authType=ADMIN")).POST(HttpRequest.BodyPublishers.noBody()))
+                .body();
+        String title = "Smoke test " + System.nanoTime();
+
+        HttpResponse<String> created = createTask(token, title);
+        assertThat(created.statusCode()).isEqualTo(200);
+        long id = json(created).path("id").asLong();
+
+        HttpResponse<String> found = send(HttpRequest.newBuilder(uri("/tasks/" + id)));
+        assertThat(found.statusCode()).isEqualTo(200);
+        assertThat(found.headers().firstValue("ETag")).isPresent();
+        assertThat(json(found).path("title").asText()).isEqualTo(title);
+
+        HttpResponse<String> searched = send(HttpRequest.newBuilder(uri("/tasks/search?q=smoke&size=100")));
+        assertThat(json(searched).path("items").findValuesAsText("title")).contains(title);
+
+        HttpResponse<String> streamed = send(HttpRequest.newBuilder(uri("/tasks/stream")));
+        assertThat(streamed.body().lines().map(this::json).map(task -> task.path("id").asLong())).contains(id);
+
+        HttpResponse<String> deleted = send(HttpRequest.newBuilder(uri("/tasks/" + id))
+                .header("Authorization", "Bearer " + token)
+                .DELETE());
+        assertThat(deleted.statusCode()).isEqualTo(204);
+        assertThat(send(HttpRequest.newBuilder(uri("/tasks/" + id))).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void tasks_ShouldBeRejected_WithoutAdminToken() throws Exception {
+        String token = send(HttpRequest.newBuilder(uri("/auth?authType=USER")).POST(HttpRequest.BodyPublishers.noBody()))
+                .body();
+
+        HttpResponse<String> response = createTask(token, "Smoke test by a user");
+
+        assertThat(response.statusCode()).isEqualTo(403);
+    }
+
+    private static HttpResponse<String> createTask(String token, String title) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "title", title,
+                "description", "created by the native smoke test",
+                "dueDate", LocalDate.now().plusDays(1).toString(),
+                "isCritical", false));
+        return send(HttpRequest.newBuilder(uri("/tasks"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.timeout(Duration.ofSeconds(10)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private JsonNode json(HttpResponse<String> response) {
+        return json(response.body());
+    }
+
+    private JsonNode json(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new AssertionError("not JSON: " + body, e);
+        }
+    }
+
+    // VmRSS of the process, as the kernel reports it on Linux; 0 elsewhere
+    private static long residentMegabytes() throws IOException {
+        Path status = Path.of("/proc", Long.toString(application.pid()), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+                .findFirst()
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.lime.aspect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RequestLogWriterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void truncate_ShouldStopAtMaxBodyLength() {
+        RequestLogWriter writer = writer(8192, 16);
+
+        assertThat(writer.truncate(Map.of("title", "A title well beyond sixteen characters")))
+                .isEqualTo("{\"title\":\"A titl...(truncated)");
+        assertThat(writer.truncate(Map.of("id", 1))).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void describe_ShouldSummarizeResponse_UnlessBodyIsIncluded() {
+        RequestLogWriter writer = writer(8192, 1024);
+        ResponseEntity<List<String>> response = ResponseEntity.ok(List.of("a", "b"));
+
+        assertThat(writer.describe("/tasks", false, response, false)).isEqualTo("Status=200 Items=2");
+        assertThat(writer.describe("/tasks", false, response, true)).isEqualTo("Status=200 [\"a\",\"b\"]");
+        assertThat(writer.describe("/tasks/1", false, Map.of(), false)).startsWith("Type=");
+        assertThat(writer.describe("/auth", true, response, true)).isEqualTo("Response from /auth blurred");
+    }
+
+    @Test
+    void logRequestResponse_ShouldCaptureBodiesAsText_OnlyWhenSampled() {
+        RequestLogWriter writer = spy(writer(8192, 1024));
+        Map<String, Object> body = Map.of("title", "Write tests");
+
+        advised(writer, 1.0).create(body);
+        advised(writer, 0.0).create(body);
+
+        ArgumentCaptor<RequestLogEvent> events = ArgumentCaptor.forClass(RequestLogEvent.class);
+        verify(writer, times(2)).publish(events.capture());
+        RequestLogEvent sampled = events.getAllValues().get(0);
+        RequestLogEvent unsampled = events.getAllValues().get(1);
+        assertThat(sampled.requestBody()).isEqualTo("{\"title\":\"Write tests\"}");
+        assertThat(sampled.response()).isEqualTo("Status=200 {\"title\":\"Write tests\"}");
+        assertThat(unsampled.requestBody()).isNull();
+        assertThat(unsampled.response()).isEqualTo("Status=200 Type=" + body.getClass().getSimpleName());
+    }
+
+    @Test
+    void publish_ShouldDropAndCountEvents_WhenQueueIsFull() {
+        RequestLogWriter writer = writer(2, 1024);
+
+        writer.publish(event(1));
+        writer.publish(event(2));
+        writer.publish(event(3));
+
+        assertThat(meterRegistry.get("request.log.dropped").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("request.log.queue.size").gauge().value()).isEqualTo(2);
+    }
+
+    private RequestLogWriter writer(int queueCapacity, int maxBodyLength) {
+        return new RequestLogWriter(new ObjectMapper(), meterRegistry, queueCapacity, maxBodyLength);
+    }
+
+    private static TaskController advised(RequestLogWriter writer, double bodySampleRate) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("POST", "/tasks")));
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TaskController());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect(writer,
+                new StaticListableBeanFactory().getBeanProvider(RequestMappingHandlerMapping.class), bodySampleRate));
+        return proxyFactory.getProxy();
+    }
+
+    private static RequestLogEvent event(int requestId) {
+        return new RequestLogEvent(0L, requestId, "GET", "/tasks", null, "getTasks", null, "Status=200 Items=0", null, 0L);
+    }
+
+    @RestController
+    static class TaskController {
+
+        public ResponseEntity<Map<String, Object>> create(@RequestBody Map<String, Object> request) {
+            return ResponseEntity.ok(request);
+        }
+    }
+}
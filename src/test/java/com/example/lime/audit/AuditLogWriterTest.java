@@ -0,0 +1,77 @@
+package com.example.lime.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditLogWriterTest {
+
+    private final AuditLogRepository auditLogRepository = mock(AuditLogRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void publish_ShouldDropAndCountEntries_WhenQueueIsFull() {
+        AuditLogWriter writer = writer(2, AuditLogWriter.OverflowPolicy.DROP);
+
+        writer.publish(entry(1L));
+        writer.publish(entry(2L));
+        writer.publish(entry(3L));
+
+        assertThat(meterRegistry.get("audit.entries").tag("outcome", "dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.queue.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void publish_ShouldGiveUpAfterBlockTimeout_WhenQueueStaysFull() {
+        AuditLogWriter writer = writer(1, AuditLogWriter.OverflowPolicy.BLOCK);
+
+        writer.publish(entry(1L));
+        writer.publish(entry(2L));
+
+        assertThat(meterRegistry.get("audit.entries").tag("outcome", "dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void stop_ShouldWriteQueuedEntriesInBatches() {
+        AuditLogWriter writer = writer(10, AuditLogWriter.OverflowPolicy.DROP);
+        for (long id = 1; id <= 5; id++) {
+            writer.publish(entry(id));
+        }
+
+        writer.stop();
+
+        verify(auditLogRepository, times(3)).insertAll(anyList());
+        assertThat(meterRegistry.get("audit.entries").tag("outcome", "written").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    void diff_ShouldOnlyContainChangedFieldsOutsideAuditColumns() {
+        String[] names = {"createdBy", "dueDate", "lastModifiedBy", "priority", "title", "version"};
+        Object[] before = {"admin", LocalDate.of(2030, 1, 1), null, "LOW", "Report", 1L};
+        Object[] after = {"admin", LocalDate.of(2030, 1, 2), "admin", "LOW", "Report", 2L};
+
+        Map<String, FieldChange> changes = AuditEventListener.diff(names, before, after);
+
+        assertThat(changes).containsOnlyKeys("dueDate");
+        assertThat(changes.get("dueDate")).isEqualTo(new FieldChange(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 2)));
+        assertThat(AuditEventListener.diff(names, before, null)).containsOnlyKeys("dueDate", "priority", "title");
+    }
+
+    private AuditLogWriter writer(int capacity, AuditLogWriter.OverflowPolicy policy) {
+        return new AuditLogWriter(auditLogRepository, meterRegistry, capacity, 2, policy, Duration.ofMillis(10));
+    }
+
+    private static AuditEntry entry(Long id) {
+        return new AuditEntry("Task", id, AuditAction.UPDATED, 1L, Map.of("title", new FieldChange("a", "b")),
+                "admin", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.lime.datasource;
+
+import com.example.lime.audit.AuditListener;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private HikariDataSource replica1;
+
+    @Mock
+    private HikariDataSource replica2;
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+    private SimpleMeterRegistry meterRegistry;
+    private RecentWriters recentWriters;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        when(replica1.getPoolName()).thenReturn("replica-1");
+        when(replica2.getPoolName()).thenReturn("replica-2");
+        meterRegistry = new SimpleMeterRegistry();
+        recentWriters = new RecentWriters(Duration.ofMinutes(1));
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), recentWriters,
+                Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    void getConnection_ShouldRotateOverReplicas() throws SQLException {
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+
+        assertThat(List.of(dataSource.getConnection(), dataSource.getConnection(), dataSource.getConnection()))
+                .containsExactly(replica1Connection, replica2Connection, replica1Connection);
+        assertThat(meterRegistry.get("datasource.reads").tag("target", "replica-1").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_ShouldSkipReplicaThatRefusesConnections_UntilItIsHealthyAgain() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        assertThat(dataSource.getConnection()).isSameAs(replica2Connection);
+        assertThat(meterRegistry.get("datasource.replica.healthy").tag("target", "replica-1").gauge().value()).isZero();
+    }
+
+    @Test
+    void getConnection_ShouldUsePrimary_WhenNoReplicaIsHealthy_OrUserWroteRecently() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        when(replica2.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+        recentWriters.recordWrite(AuditListener.currentUser());
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get("datasource.reads").tag("target", "primary").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_ShouldUsePrimary_InsidePrimaryReads() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        Connection connection = PrimaryReads.call(dataSource::getConnection);
+
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(PrimaryReads.active()).isFalse();
+    }
+
+    @Test
+    void getConnection_ShouldUsePrimary_WhenGivenCredentials() throws SQLException {
+        when(primary.getConnection("reporting", "secret")).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection("reporting", "secret")).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get("datasource.reads").tag("target", "primary").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void checkHealth_ShouldTakeLaggingReplicaOutOfRotation() throws SQLException {
+        Connection lagging = replicaReportingLag(30.0);
+        Connection current = replicaReportingLag(0.0);
+        when(replica1.getConnection()).thenReturn(lagging);
+        when(replica2.getConnection()).thenReturn(current);
+
+        dataSource.checkHealth();
+
+        assertThat(meterRegistry.get("datasource.replica.healthy").tag("target", "replica-1").gauge().value()).isZero();
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("target", "replica-1").gauge().value()).isEqualTo(30.0);
+        assertThat(dataSource.getConnection()).isSameAs(current);
+        assertThat(dataSource.getConnection()).isSameAs(current);
+    }
+
+    private static Connection replicaReportingLag(double seconds) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(seconds);
+        return connection;
+    }
+}
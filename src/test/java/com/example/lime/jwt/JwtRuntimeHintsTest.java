@@ -0,0 +1,33 @@
+package com.example.lime.jwt;
+
+import io.jsonwebtoken.impl.DefaultJwtBuilder;
+import io.jsonwebtoken.impl.DefaultJwtParserBuilder;
+import io.jsonwebtoken.jackson.io.JacksonSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.aot.hint.MemberCategory.INVOKE_DECLARED_CONSTRUCTORS;
+
+class JwtRuntimeHintsTest {
+
+    @Test
+    void registerHints_ShouldCoverWhatJwtsLoadsByName() {
+        RuntimeHints hints = new RuntimeHints();
+
+        new JwtRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(constructible(DefaultJwtBuilder.class)).accepts(hints);
+        assertThat(constructible(DefaultJwtParserBuilder.class)).accepts(hints);
+        assertThat(constructible(JacksonSerializer.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+                .accepts(hints);
+    }
+
+    private static Predicate<RuntimeHints> constructible(Class<?> type) {
+        return RuntimeHintsPredicates.reflection().onType(type).withMemberCategory(INVOKE_DECLARED_CONSTRUCTORS);
+    }
+}
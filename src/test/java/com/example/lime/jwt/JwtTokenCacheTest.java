@@ -0,0 +1,58 @@
+package com.example.lime.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JwtTokenCacheTest {
+
+    private JwtUtil jwtUtil;
+    private JwtTokenCache jwtTokenCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil());
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenCache = new JwtTokenCache(jwtUtil, meterRegistry, 100);
+    }
+
+    @Test
+    void verify_ShouldReturnSubjectAndRoles_WhenTokenIsValid() {
+        String token = jwtUtil.generateToken("admin", "ADMIN");
+
+        Optional<VerifiedToken> verified = jwtTokenCache.verify(token);
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().username()).isEqualTo("admin");
+        assertThat(verified.get().authorities()).containsExactly(new SimpleGrantedAuthority("ROLE_ADMIN"));
+    }
+
+    @Test
+    void verify_ShouldParseTokenOnlyOnce_WhenTokenIsReused() {
+        String token = jwtUtil.generateToken("user", "USER");
+
+        jwtTokenCache.verify(token);
+        jwtTokenCache.verify(token);
+        jwtTokenCache.verify(token);
+
+        verify(jwtUtil, times(1)).parseClaims(token);
+        assertThat(meterRegistry.get("jwt.verification").tag("cache", "hit").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("jwt.verification").tag("cache", "miss").tag("outcome", "valid").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_ShouldReturnEmpty_WhenSignatureIsInvalid() {
+        String token = jwtUtil.generateToken("admin", "ADMIN");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtTokenCache.verify(tampered)).isEmpty();
+        assertThat(jwtTokenCache.verify("not-a-jwt")).isEmpty();
+    }
+}
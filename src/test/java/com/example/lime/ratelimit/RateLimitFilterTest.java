@@ -0,0 +1,123 @@
+package com.example.lime.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(meterRegistry, 1, 2, 1, 1, 1, 1, 1, Duration.ofMillis(50), 1000);
+        filter = new RateLimitFilter(rateLimiter, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ShouldRejectWithRetryAfter_WhenSubjectUsedItsBurst() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "ROLE_USER"));
+
+        assertThat(get("/tasks").getStatus()).isEqualTo(200);
+        assertThat(get("/tasks").getStatus()).isEqualTo(200);
+        MockHttpServletResponse limited = get("/tasks");
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(objectMapper.readTree(limited.getContentAsString()).path("message").asText())
+                .isEqualTo("Rate limit exceeded");
+        assertThat(meterRegistry.get("ratelimit.requests").tag("endpoint", "list").tag("outcome", "limited")
+                .counter().count()).isEqualTo(1);
+
+        // other groups and other subjects have buckets of their own
+        assertThat(get("/tasks/1").getStatus()).isEqualTo(200);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bob", null, "ROLE_USER"));
+        assertThat(get("/tasks").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_ShouldShedListRequest_WhenSlotsStayBusyPastQueueTime() throws Exception {
+        rateLimiter.setLimit(RateLimitedEndpoint.LIST, new RateLimit(1000, 1000));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<MockHttpServletResponse> slow = executor.submit(() -> get("/tasks", (request, response) -> {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            running.await();
+
+            MockHttpServletResponse shed = get("/tasks/search");
+            release.countDown();
+
+            assertThat(shed.getStatus()).isEqualTo(429);
+            assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(slow.get().getStatus()).isEqualTo(200);
+        }
+        assertThat(get("/tasks").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("ratelimit.requests").tag("outcome", "shed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_ShouldHoldListSlot_UntilAsyncResponseCompletes() throws Exception {
+        rateLimiter.setLimit(RateLimitedEndpoint.LIST, new RateLimit(1000, 1000));
+        MockHttpServletRequest streaming = new MockHttpServletRequest("GET", "/tasks/stream");
+        streaming.setAsyncSupported(true);
+
+        filter.doFilter(streaming, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertThat(rateLimiter.listInFlight()).isEqualTo(1);
+        assertThat(get("/tasks").getStatus()).isEqualTo(429);
+        ((MockAsyncContext) streaming.getAsyncContext()).complete();
+        assertThat(rateLimiter.listInFlight()).isZero();
+    }
+
+    @Test
+    void doFilter_ShouldPassOtherPaths_WithoutCounting() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(get("/actuator/health").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse get(String path) throws Exception {
+        return get(path, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse get(String path, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.lime.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketsTest {
+
+    private static final RateLimit TWO_PER_SECOND = new RateLimit(2, 3);
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private TokenBuckets buckets;
+
+    @BeforeEach
+    void setUp() {
+        buckets = new TokenBuckets(1000, Duration.ofMinutes(10), now::get);
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurst_ThenReportWaitUntilNextToken() {
+        assertThat(IntStream.range(0, 3).mapToLong(i -> buckets.tryAcquire("alice", TWO_PER_SECOND))).containsOnly(0L);
+
+        assertThat(buckets.tryAcquire("alice", TWO_PER_SECOND)).isEqualTo(500_000_000L);
+
+        now.addAndGet(499_000_000L);
+        assertThat(buckets.tryAcquire("alice", TWO_PER_SECOND)).isEqualTo(1_000_000L);
+        now.addAndGet(1_000_000L);
+        assertThat(buckets.tryAcquire("alice", TWO_PER_SECOND)).isZero();
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSubjectsApart_AndRefillToBurstOnly() {
+        IntStream.range(0, 3).forEach(i -> buckets.tryAcquire("alice", TWO_PER_SECOND));
+
+        assertThat(buckets.tryAcquire("bob", TWO_PER_SECOND)).isZero();
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(IntStream.range(0, 4).mapToLong(i -> buckets.tryAcquire("alice", TWO_PER_SECOND)))
+                .containsExactly(0L, 0L, 0L, 500_000_000L);
+    }
+
+    @Test
+    void tryAcquire_ShouldHandOutExactlyBurst_UnderContention() throws InterruptedException {
+        RateLimit limit = new RateLimit(0.001, 100);
+        AtomicInteger granted = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1000; i++) {
+                executor.execute(() -> {
+                    if (buckets.tryAcquire("alice", limit) == 0) {
+                        granted.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertThat(granted).hasValue(100);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.Priority;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriorityConverterTest {
+
+    private final PriorityConverter converter = new PriorityConverter();
+
+    @Test
+    void convert_ShouldStoreStableCodes_InOrderOfUrgency() {
+        assertThat(converter.convertToDatabaseColumn(Priority.HIGH)).isEqualTo((short) 0);
+        assertThat(converter.convertToDatabaseColumn(Priority.MEDIUM)).isEqualTo((short) 1);
+        assertThat(converter.convertToDatabaseColumn(Priority.LOW)).isEqualTo((short) 2);
+        for (Priority priority : Priority.values()) {
+            assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(priority))).isEqualTo(priority);
+        }
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldReject_UnknownCode() {
+        assertThatThrownBy(() -> converter.convertToEntityAttribute((short) 7))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.lime.task;
+
+import com.example.lime.config.CodecConfig;
+import com.example.lime.task.changes.TaskChangeEmitters;
+import com.example.lime.task.dto.response.TaskPage;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class TaskControllerTest {
+
+    private final TaskService taskService = mock(TaskService.class);
+    private final CodecConfig codecConfig = new CodecConfig();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new TaskController(taskService, objectMapper, mock(TaskChangeEmitters.class)))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper),
+                        codecConfig.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                        codecConfig.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()))
+                .build();
+        when(taskService.getTasksVersion(any())).thenReturn(new TaskSetVersion(1, LocalDateTime.of(2026, 3, 1, 9, 0)));
+        when(taskService.getTasks(any(), any(), any(), any(), anyInt())).thenReturn(new TaskPage(List.of(
+                TaskResponse.builder().id(1L).title("Write tests").dueDate(LocalDate.of(2026, 3, 2))
+                        .priority(Priority.MEDIUM).build()), null));
+    }
+
+    @Test
+    void getTasks_ShouldAnswerInCbor_WhenAcceptIsCbor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/tasks").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        TaskPage page = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()
+                .readValue(result.getResponse().getContentAsByteArray(), TaskPage.class);
+        assertThat(page.getItems()).extracting(TaskResponse::getTitle).containsExactly("Write tests");
+    }
+
+    @Test
+    void getTasks_ShouldAnswerInSmile_WhenAcceptIsSmile() throws Exception {
+        MvcResult result = mockMvc.perform(get("/tasks").accept(CodecConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CodecConfig.APPLICATION_SMILE))
+                .andReturn();
+
+        TaskPage page = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build()
+                .readValue(result.getResponse().getContentAsByteArray(), TaskPage.class);
+        assertThat(page.getItems()).extracting(TaskResponse::getPriority).containsExactly(Priority.MEDIUM);
+    }
+
+    @Test
+    void getTasks_ShouldTagListWeakly_AndAnswerNotModified_WhenTagMatches() throws Exception {
+        String eTag = mockMvc.perform(get("/tasks").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).startsWith("W/\"");
+        mockMvc.perform(get("/tasks").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        verify(taskService, times(1)).getTasks(any(), any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskPriorityRulesTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+    private static final Pattern DAYS_UNTIL_DUE = Pattern.compile("\\(DATE '(.+)' - DATE '(.+)'\\) <= (-?\\d+)");
+
+    @Test
+    void sql_ShouldAgreeWithCalculate_AcrossTheBoundaries() {
+        int[] daysUntilDue = {-30, -1, 0, 1, 6, 7, 8, 365};
+        for (boolean isCompleted : new boolean[]{false, true}) {
+            for (boolean isCritical : new boolean[]{false, true}) {
+                for (int days : daysUntilDue) {
+                    LocalDate dueDate = TODAY.plusDays(days);
+                    String sql = TaskPriorityRules.sql(String.valueOf(isCritical).toUpperCase(),
+                            String.valueOf(isCompleted).toUpperCase(), "DATE '" + dueDate + "'", TODAY);
+
+                    assertThat(evaluate(sql))
+                            .as("completed=%s critical=%s due in %d days", isCompleted, isCritical, days)
+                            .isEqualTo(TaskPriorityRules.calculate(isCritical, isCompleted, dueDate, TODAY));
+                }
+            }
+        }
+        assertThat(TaskPriorityRules.calculate(false, false, TODAY.plusDays(7), TODAY)).isEqualTo(Priority.MEDIUM);
+        assertThat(TaskPriorityRules.calculate(false, false, TODAY.plusDays(8), TODAY)).isEqualTo(Priority.LOW);
+    }
+
+    // the CASE expression of sql(), over constant columns, as Postgres would evaluate it
+    private static Priority evaluate(String sql) {
+        assertThat(sql).startsWith("CASE WHEN ").endsWith(" END");
+        String[] branches = sql.substring("CASE WHEN ".length(), sql.length() - " END".length()).split(" WHEN ");
+        for (int i = 0; i < branches.length; i++) {
+            String[] thenElse = branches[i].split(" ELSE ");
+            String[] condition = thenElse[0].split(" THEN ");
+            if (holds(condition[0])) {
+                return Priority.fromCode(Integer.parseInt(condition[1]));
+            }
+            if (thenElse.length == 2) {
+                assertThat(i).isEqualTo(branches.length - 1);
+                return Priority.fromCode(Integer.parseInt(thenElse[1]));
+            }
+        }
+        throw new AssertionError("No ELSE in " + sql);
+    }
+
+    private static boolean holds(String condition) {
+        if (condition.equals("TRUE") || condition.equals("FALSE")) {
+            return Boolean.parseBoolean(condition);
+        }
+        Matcher matcher = DAYS_UNTIL_DUE.matcher(condition);
+        assertThat(matcher.matches()).as(condition).isTrue();
+        long days = LocalDate.parse(matcher.group(1)).toEpochDay() - LocalDate.parse(matcher.group(2)).toEpochDay();
+        return days <= Long.parseLong(matcher.group(3));
+    }
+}
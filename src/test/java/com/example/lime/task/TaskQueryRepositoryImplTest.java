@@ -0,0 +1,67 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.Priority;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TaskQueryRepositoryImplTest {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final Query query = mock(Query.class, RETURNS_SELF);
+    private final TaskQueryRepositoryImpl repository = new TaskQueryRepositoryImpl(entityManager);
+
+    @Test
+    void escalatePriority_ShouldRecordEachChangeInAuditLog_InTheSameStatement() {
+        LocalDate today = LocalDate.of(2026, 3, 1);
+        LocalDateTime now = today.atTime(0, 5);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.executeUpdate()).thenReturn(3);
+
+        int escalated = repository.escalatePriority(EnumSet.of(Priority.MEDIUM, Priority.LOW), Priority.HIGH,
+                List.of(today), now, TaskReprioritizationJob.SYSTEM_USER);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createNativeQuery(sql.capture());
+        assertThat(escalated).isEqualTo(3);
+        assertThat(sql.getValue())
+                .startsWith("WITH escalated AS (UPDATE task t SET priority = :to, version = t.version + 1")
+                .contains("due_date IN (:dueDates) FOR UPDATE")
+                .contains("INSERT INTO audit_log (entity_type, entity_id, action, version, changes, changed_by, changed_at) "
+                        + "SELECT 'Task', id, 'UPDATED', version, ")
+                .contains("jsonb_build_object('priority', jsonb_build_object('from', CASE old_priority WHEN 0 THEN 'HIGH' "
+                        + "WHEN 1 THEN 'MEDIUM' WHEN 2 THEN 'LOW' END, 'to', 'HIGH'))")
+                .endsWith("FROM escalated");
+        verify(query).setParameter("to", Priority.HIGH.getCode());
+        verify(query).setParameter("from", List.of(Priority.MEDIUM.getCode(), Priority.LOW.getCode()));
+        verify(query).setParameter("dueDates", List.of(today));
+        verify(query).setParameter("modifiedAt", now);
+        verify(query).setParameter("modifiedBy", TaskReprioritizationJob.SYSTEM_USER);
+    }
+
+    @Test
+    void escalatePriorityDueOnOrBefore_ShouldSelectTasksDueUpToTheDate() {
+        LocalDate dueOnOrBefore = LocalDate.of(2026, 3, 8);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+
+        repository.escalatePriorityDueOnOrBefore(EnumSet.of(Priority.LOW), Priority.MEDIUM, dueOnOrBefore,
+                LocalDateTime.now(), TaskReprioritizationJob.SYSTEM_USER);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createNativeQuery(sql.capture());
+        assertThat(sql.getValue())
+                .contains("due_date <= :dueOnOrBefore FOR UPDATE")
+                .contains("'to', 'MEDIUM'")
+                .contains("INSERT INTO audit_log");
+        verify(query).setParameter("dueOnOrBefore", dueOnOrBefore);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.lime.task;
+
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.stats.TaskStatsCounters;
+import com.example.lime.task.store.TaskStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReprioritizationJobTest {
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private TaskCaches taskCaches;
+
+    @Mock
+    private TaskStatsCounters taskStatsCounters;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskReprioritizationJob job;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new TaskReprioritizationJob(taskStore, taskCaches, taskStatsCounters, meterRegistry, 2);
+        today = LocalDate.of(2025, 2, 10);
+    }
+
+    @Test
+    void run_ShouldCatchUpOnFirstRun() {
+        when(taskStore.escalatePriorityDueOnOrBefore(eq(EnumSet.of(Priority.MEDIUM, Priority.LOW)), eq(Priority.HIGH), eq(today), any(), eq(TaskReprioritizationJob.SYSTEM_USER)))
+                .thenReturn(3);
+        when(taskStore.escalatePriorityDueOnOrBefore(eq(EnumSet.of(Priority.LOW)), eq(Priority.MEDIUM), eq(today.plusDays(7)), any(), eq(TaskReprioritizationJob.SYSTEM_USER)))
+                .thenReturn(2);
+
+        int updated = job.run(today);
+
+        assertThat(updated).isEqualTo(5);
+        assertThat(meterRegistry.get("task.reprioritization.rows").tag("priority", "HIGH").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("task.reprioritization.rows").tag("priority", "MEDIUM").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("task.reprioritization.duration").timer().count()).isEqualTo(1);
+        verify(taskStore, never()).escalatePriority(any(), any(), any(), any(), any());
+        verify(taskCaches).evictAll();
+    }
+
+    @Test
+    void run_ShouldOnlyTouchDueDatesThatCrossedABoundary() {
+        job.run(today);
+        clearInvocations(taskStore);
+
+        job.run(today.plusDays(1));
+
+        verify(taskStore).escalatePriority(eq(EnumSet.of(Priority.MEDIUM, Priority.LOW)), eq(Priority.HIGH),
+                eq(List.of(today.plusDays(1))), any(), eq(TaskReprioritizationJob.SYSTEM_USER));
+        verify(taskStore).escalatePriority(eq(EnumSet.of(Priority.LOW)), eq(Priority.MEDIUM),
+                eq(List.of(today.plusDays(8))), any(), eq(TaskReprioritizationJob.SYSTEM_USER));
+        verify(taskStore, never()).escalatePriorityDueOnOrBefore(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void run_ShouldSplitMissedDaysIntoBatches() {
+        job.run(today);
+        clearInvocations(taskStore);
+
+        job.run(today.plusDays(3));
+
+        verify(taskStore).escalatePriority(any(), eq(Priority.HIGH),
+                eq(List.of(today.plusDays(1), today.plusDays(2))), any(), any());
+        verify(taskStore).escalatePriority(any(), eq(Priority.HIGH),
+                eq(List.of(today.plusDays(3))), any(), any());
+        verify(taskStore).escalatePriority(any(), eq(Priority.MEDIUM),
+                eq(List.of(today.plusDays(8), today.plusDays(9))), any(), any());
+        verify(taskStore).escalatePriority(any(), eq(Priority.MEDIUM),
+                eq(List.of(today.plusDays(10))), any(), any());
+    }
+
+    @Test
+    void run_ShouldDoNothingWhenAlreadyRunToday() {
+        job.run(today);
+        clearInvocations(taskStore);
+
+        assertThat(job.run(today)).isZero();
+
+        verifyNoInteractions(taskStore);
+    }
+}
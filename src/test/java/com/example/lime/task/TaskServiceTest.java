@@ -1,23 +1,38 @@
 package com.example.lime.task;
 
+import com.example.lime.task.stats.TaskStatsCounters;
+import com.example.lime.task.store.TaskStore;
+import com.example.lime.task.dto.request.BatchUpdateTaskRequest;
 import com.example.lime.task.dto.request.CreateTaskRequest;
 import com.example.lime.task.dto.request.UpdateTaskRequest;
+import com.example.lime.task.dto.response.BatchItemResult;
+import com.example.lime.task.dto.response.TaskPage;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.BatchItemStatus;
 import com.example.lime.task.enums.FilterType;
 import com.example.lime.task.enums.Priority;
 import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,7 +43,16 @@ import static org.mockito.Mockito.*;
 class TaskServiceTest {
 
     @Mock
-    private TaskRepository taskRepository;
+    private TaskStore taskStore;
+
+    @Mock
+    private TaskCaches taskCaches;
+
+    @Mock
+    private TaskStatsCounters taskStatsCounters;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @InjectMocks
     private TaskService taskService;
@@ -94,7 +118,7 @@ class TaskServiceTest {
 
     @Test
     void createTask_ShouldReturnSavedTask() {
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskStore.save(any(Task.class))).thenReturn(task);
 
         Task createdTask = taskService.createTask(createTaskRequest);
 
@@ -102,84 +126,106 @@ class TaskServiceTest {
         assertThat(createdTask.getTitle()).isEqualTo(createTaskRequest.getTitle());
         assertThat(createdTask.getDescription()).isEqualTo(createTaskRequest.getDescription());
         assertThat(createdTask.getPriority()).isEqualTo(Priority.MEDIUM);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskStore, times(1)).save(any(Task.class));
     }
 
     @Test
     void getTasks_ShouldReturnFilteredTasks() {
-        when(taskRepository.findAll(any(Sort.class))).thenReturn(List.of(task));
+        when(taskStore.findPage(eq(new TaskFilter()), eq(SortType.PRIORITY), isNull(), eq(51), eq(TaskField.DEFAULTS))).thenReturn(responses(task));
 
-        List<Task> tasks = taskService.getTasks(SortType.PRIORITY, null, null);
+        List<TaskResponse> tasks = taskService.getTasks(SortType.PRIORITY, new TaskFilter(), TaskField.DEFAULTS, null, 50).getItems();
 
         assertThat(tasks).isNotEmpty();
         assertThat(tasks.size()).isEqualTo(1);
         assertThat(tasks.get(0).getTitle()).isEqualTo(task.getTitle());
-        verify(taskRepository, times(1)).findAll(any(Sort.class));
+        verify(taskStore, times(1)).findPage(eq(new TaskFilter()), eq(SortType.PRIORITY), isNull(), eq(51), eq(TaskField.DEFAULTS));
     }
 
     @Test
     void getTask_ShouldReturnTask_WhenExists() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskStore.findById(1L)).thenReturn(Optional.of(task));
 
-        Task foundTask = taskService.getTask(1L);
+        TaskResponse foundTask = taskService.getTask(1L);
 
         assertThat(foundTask).isNotNull();
         assertThat(foundTask.getId()).isEqualTo(1L);
-        verify(taskRepository, times(1)).findById(1L);
+        verify(taskStore, times(1)).findById(1L);
     }
 
     @Test
     void getTask_ShouldThrowException_WhenNotFound() {
-        when(taskRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(taskStore.findById(anyLong())).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EntityNotFoundException.class, () -> taskService.getTask(1L));
 
         assertThat(exception.getMessage()).isEqualTo("Task with ID 1 not found");
-        verify(taskRepository, times(1)).findById(1L);
+        verify(taskStore, times(1)).findById(1L);
     }
 
     @Test
     void updateTask_ShouldReturnUpdatedTask_WhenExists() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+        when(taskStore.save(any(Task.class))).thenReturn(task);
 
-        Task updatedTask = taskService.updateTask(1L, updateTaskRequest);
+        Task updatedTask = taskService.updateTask(1L, updateTaskRequest, null);
 
         assertThat(updatedTask).isNotNull();
         assertThat(updatedTask.getTitle()).isEqualTo(updateTaskRequest.getTitle());
         assertThat(updatedTask.getDescription()).isEqualTo(updateTaskRequest.getDescription());
         assertThat(updatedTask.getPriority()).isEqualTo(Priority.LOW);
-        verify(taskRepository, times(1)).save(task);
+        verify(taskStore, times(1)).save(task);
     }
 
     @Test
     void updateTask_ShouldThrowException_WhenNotFound() {
-        when(taskRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(taskStore.findById(anyLong())).thenReturn(Optional.empty());
 
-        Exception exception = assertThrows(EntityNotFoundException.class, () -> taskService.updateTask(1L, updateTaskRequest));
+        Exception exception = assertThrows(EntityNotFoundException.class, () -> taskService.updateTask(1L, updateTaskRequest, null));
 
         assertThat(exception.getMessage()).isEqualTo("Task with ID 1 not found");
-        verify(taskRepository, times(1)).findById(1L);
+        verify(taskStore, times(1)).findById(1L);
+    }
+
+    @Test
+    void updateTask_ShouldSave_WhenExpectedVersionMatches() {
+        task.setVersion(3L);
+        when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+        when(taskStore.save(any(Task.class))).thenReturn(task);
+
+        taskService.updateTask(1L, updateTaskRequest, 3L);
+
+        verify(taskStore, times(1)).save(task);
+    }
+
+    @Test
+    void updateTask_ShouldThrowOptimisticLockingFailure_WhenVersionIsStale() {
+        task.setVersion(4L);
+        when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.updateTask(1L, updateTaskRequest, 3L));
+
+        assertThat(task.getTitle()).isEqualTo("Test Task");
+        verify(taskStore, never()).save(any());
     }
 
     @Test
     void deleteTask_ShouldDeleteTask_WhenExists() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        doNothing().when(taskRepository).delete(task);
+        when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+        doNothing().when(taskStore).delete(task);
 
         taskService.deleteTask(1L);
 
-        verify(taskRepository, times(1)).delete(task);
+        verify(taskStore, times(1)).delete(task);
     }
 
     @Test
     void deleteTask_ShouldThrowException_WhenNotFound() {
-        when(taskRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(taskStore.findById(anyLong())).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EntityNotFoundException.class, () -> taskService.deleteTask(1L));
 
         assertThat(exception.getMessage()).isEqualTo("Task with ID 1 not found");
-        verify(taskRepository, times(1)).findById(1L);
+        verify(taskStore, times(1)).findById(1L);
     }
 
     @Test
@@ -194,59 +240,232 @@ class TaskServiceTest {
 
     @Test
     void getTasks_ShouldReturnTasksSortedByPriority() {
-        when(taskRepository.findAll(any(Sort.class)))
-                .thenReturn(List.of(highPriorityTask, dueTodayTask, dueLaterTask, lowPriorityTask));
+        when(taskStore.findPage(eq(new TaskFilter()), eq(SortType.PRIORITY), isNull(), eq(51), eq(TaskField.DEFAULTS)))
+                .thenReturn(responses(highPriorityTask, dueTodayTask, dueLaterTask, lowPriorityTask));
 
-        List<Task> tasks = taskService.getTasks(SortType.PRIORITY, null, null);
+        List<TaskResponse> tasks = taskService.getTasks(SortType.PRIORITY, new TaskFilter(), TaskField.DEFAULTS, null, 50).getItems();
 
         assertThat(tasks).isNotEmpty();
         assertThat(tasks).hasSize(4);
         assertThat(tasks.get(0).getPriority()).isEqualTo(Priority.HIGH);
         assertThat(tasks.get(3).getPriority()).isEqualTo(Priority.LOW);
 
-        verify(taskRepository, times(1)).findAll(any(Sort.class));
+        verify(taskStore, times(1)).findPage(eq(new TaskFilter()), eq(SortType.PRIORITY), isNull(), eq(51), eq(TaskField.DEFAULTS));
     }
 
     @Test
     void getTasks_ShouldReturnTasksSortedByDueDate() {
-        when(taskRepository.findAll(any(Sort.class)))
-                .thenReturn(List.of(dueTodayTask, dueLaterTask, highPriorityTask, lowPriorityTask));
+        when(taskStore.findPage(eq(new TaskFilter()), eq(SortType.DUE_DATE), isNull(), eq(51), eq(TaskField.DEFAULTS)))
+                .thenReturn(responses(dueTodayTask, dueLaterTask, highPriorityTask, lowPriorityTask));
 
-        List<Task> tasks = taskService.getTasks(SortType.DUE_DATE, null, null);
+        List<TaskResponse> tasks = taskService.getTasks(SortType.DUE_DATE, new TaskFilter(), TaskField.DEFAULTS, null, 50).getItems();
 
         assertThat(tasks).isNotEmpty();
         assertThat(tasks).hasSize(4);
         assertThat(tasks.get(0).getDueDate()).isEqualTo(LocalDate.now());
         assertThat(tasks.get(3).getDueDate()).isEqualTo(LocalDate.now().plusDays(10));
 
-        verify(taskRepository, times(1)).findAll(any(Sort.class));
+        verify(taskStore, times(1)).findPage(eq(new TaskFilter()), eq(SortType.DUE_DATE), isNull(), eq(51), eq(TaskField.DEFAULTS));
     }
 
     @Test
     void getTasks_ShouldFilterByCompletionStatus() {
-        when(taskRepository.findAllByIsCompleted(eq(false)))
-                .thenReturn(List.of(dueTodayTask));
+        when(taskStore.findPage(notNull(), eq(SortType.PRIORITY), isNull(), eq(51), eq(TaskField.DEFAULTS)))
+                .thenReturn(responses(dueTodayTask));
 
-        List<Task> tasks = taskService.getTasks(SortType.PRIORITY, FilterType.IS_COMPLETED, "false");
+        List<TaskResponse> tasks = taskService.getTasks(SortType.PRIORITY, TaskFilter.of(FilterType.IS_COMPLETED, "false"), TaskField.DEFAULTS, null, 50).getItems();
 
         assertThat(tasks).isNotEmpty();
         assertThat(tasks).hasSize(1);
-        assertThat(tasks.get(0).isCompleted()).isFalse();
+        assertThat(tasks.get(0).getCompleted()).isFalse();
 
-        verify(taskRepository, times(1)).findAllByIsCompleted(eq(false));
+        verify(taskStore, times(1)).findPage(notNull(), eq(SortType.PRIORITY), isNull(), eq(51), eq(TaskField.DEFAULTS));
     }
 
     @Test
     void getTasks_ShouldFilterByPriority() {
-        when(taskRepository.findAllByPriority(eq(Priority.HIGH)))
-                .thenReturn(List.of(highPriorityTask));
+        when(taskStore.findPage(notNull(), eq(SortType.PRIORITY), isNull(), eq(51), eq(TaskField.DEFAULTS)))
+                .thenReturn(responses(highPriorityTask));
 
-        List<Task> tasks = taskService.getTasks(SortType.PRIORITY, FilterType.PRIORITY, "HIGH");
+        List<TaskResponse> tasks = taskService.getTasks(SortType.PRIORITY, TaskFilter.of(FilterType.PRIORITY, "HIGH"), TaskField.DEFAULTS, null, 50).getItems();
 
         assertThat(tasks).isNotEmpty();
         assertThat(tasks).hasSize(1);
         assertThat(tasks.get(0).getPriority()).isEqualTo(Priority.HIGH);
 
-        verify(taskRepository, times(1)).findAllByPriority(eq(Priority.HIGH));
+        verify(taskStore, times(1)).findPage(notNull(), eq(SortType.PRIORITY), isNull(), eq(51), eq(TaskField.DEFAULTS));
+    }
+
+    @Test
+    void getTasks_ShouldCombineFiltersWithRequestedSort() {
+        TaskFilter filter = TaskFilter.builder()
+                .completed(false)
+                .priority(Set.of(Priority.HIGH, Priority.MEDIUM))
+                .dueTo(LocalDate.now().plusDays(7))
+                .build();
+        when(taskStore.findPage(notNull(), eq(SortType.DUE_DATE), isNull(), eq(51), eq(TaskField.DEFAULTS)))
+                .thenReturn(responses(dueTodayTask, highPriorityTask));
+
+        List<TaskResponse> tasks = taskService.getTasks(SortType.DUE_DATE, filter, TaskField.DEFAULTS, null, 50).getItems();
+
+        assertThat(tasks).containsExactlyElementsOf(responses(dueTodayTask, highPriorityTask));
+        verify(taskStore, times(1)).findPage(notNull(), eq(SortType.DUE_DATE), isNull(), eq(51), eq(TaskField.DEFAULTS));
+    }
+
+    @Test
+    void taskFilter_ShouldMergeLegacyFilterIntoCriteria() {
+        TaskFilter filter = TaskFilter.builder().priority(Set.of(Priority.LOW, Priority.HIGH)).build()
+                .and(FilterType.PRIORITY, "HIGH")
+                .and(FilterType.IS_COMPLETED, "true");
+
+        assertThat(filter.getPriority()).containsExactly(Priority.HIGH);
+        assertThat(filter.getCompleted()).isTrue();
+        assertThat(TaskFilter.of(FilterType.PRIORITY, "LOW").getPriority()).containsExactly(Priority.LOW);
+    }
+
+    @Test
+    void taskFilter_ShouldMatchNoPriority_WhenLegacyFilterContradictsCriteria() {
+        TaskFilter filter = new TaskFilter();
+        filter.setPriority(Set.of(Priority.HIGH));
+
+        filter.and(FilterType.PRIORITY, "LOW");
+
+        assertThat(filter.getPriority()).isEmpty();
+        assertThat(TaskSqlFilter.conditions(filter, new HashMap<>())).containsExactly("FALSE");
+    }
+
+    @Test
+    void getTasks_ShouldReturnNextCursor_WhenMoreTasksExist() {
+        when(taskStore.findPage(eq(new TaskFilter()), eq(SortType.PRIORITY), isNull(), eq(3), eq(TaskField.DEFAULTS)))
+                .thenReturn(responses(highPriorityTask, dueTodayTask, lowPriorityTask));
+
+        TaskPage page = taskService.getTasks(SortType.PRIORITY, new TaskFilter(), TaskField.DEFAULTS, null, 2);
+
+        assertThat(page.getItems()).containsExactlyElementsOf(responses(highPriorityTask, dueTodayTask));
+        assertThat(page.getNextCursor()).isNotNull();
+
+        TaskCursor cursor = TaskCursor.decode(page.getNextCursor(), SortType.PRIORITY);
+        assertThat(cursor.id()).isEqualTo(dueTodayTask.getId());
+        assertThat(cursor.priority()).isEqualTo(dueTodayTask.getPriority());
+        assertThat(cursor.dueDate()).isEqualTo(dueTodayTask.getDueDate());
+    }
+
+    @Test
+    void getTasks_ShouldContinueFromCursor() {
+        String cursor = new TaskCursor(SortType.PRIORITY, Priority.MEDIUM, LocalDate.now(), 3L).encode();
+        when(taskStore.findPage(eq(new TaskFilter()), eq(SortType.PRIORITY), any(TaskCursor.class), eq(3), eq(TaskField.DEFAULTS)))
+                .thenReturn(responses(lowPriorityTask));
+
+        TaskPage page = taskService.getTasks(SortType.PRIORITY, new TaskFilter(), TaskField.DEFAULTS, cursor, 2);
+
+        assertThat(page.getItems()).containsExactlyElementsOf(responses(lowPriorityTask));
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getTasks_ShouldReturnOnlyRequestedFields_ButCursorFromSortKeys() {
+        Set<TaskField> fields = TaskField.parse("title");
+        when(taskStore.findPage(eq(new TaskFilter()), eq(SortType.PRIORITY), isNull(), eq(2), eq(fields)))
+                .thenReturn(responses(highPriorityTask, dueTodayTask));
+
+        TaskPage page = taskService.getTasks(SortType.PRIORITY, new TaskFilter(), fields, null, 1);
+
+        assertThat(page.getItems()).containsExactly(TaskResponse.builder().title(highPriorityTask.getTitle()).build());
+        assertThat(TaskCursor.decode(page.getNextCursor(), SortType.PRIORITY))
+                .isEqualTo(new TaskCursor(SortType.PRIORITY, Priority.HIGH, highPriorityTask.getDueDate(), 1L));
+    }
+
+    @Test
+    void taskField_ShouldRejectUnknownFields() {
+        assertThat(TaskField.parse(null)).isEqualTo(TaskField.DEFAULTS);
+        assertThrows(IllegalArgumentException.class, () -> TaskField.parse("title,owner"));
+    }
+
+    @Test
+    void getTasks_ShouldRejectCursorIssuedForAnotherSort() {
+        String cursor = new TaskCursor(SortType.DUE_DATE, Priority.MEDIUM, LocalDate.now(), 3L).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTasks(SortType.PRIORITY, new TaskFilter(), TaskField.DEFAULTS, cursor, 2));
+    }
+
+    @Test
+    void createTasks_ShouldSaveValidItemsAndReportInvalidOnes() {
+        CreateTaskRequest invalid = new CreateTaskRequest("x", "Test Description", LocalDate.now(), false);
+        when(taskStore.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).setId(100L + i);
+            }
+            return tasks;
+        });
+
+        List<BatchItemResult> results = taskService.createTasks(List.of(createTaskRequest, invalid, createTaskRequest));
+
+        assertThat(results).extracting(BatchItemResult::getStatus)
+                .containsExactly(BatchItemStatus.CREATED, BatchItemStatus.INVALID, BatchItemStatus.CREATED);
+        assertThat(results).extracting(BatchItemResult::getId).containsExactly(100L, null, 101L);
+        assertThat(results.get(1).getErrors()).containsExactly("Field 'title': Title must be at least 3 characters long");
+        verify(taskStore, times(1)).saveAll(argThat(tasks -> ((List<Task>) tasks).size() == 2));
+    }
+
+    @Test
+    void updateTasks_ShouldUpdateFoundTasksAndReportMissingOnes() {
+        BatchUpdateTaskRequest found = new BatchUpdateTaskRequest(1L, "Updated Task", "Updated Description", LocalDate.now().plusDays(3), false, true);
+        BatchUpdateTaskRequest missing = new BatchUpdateTaskRequest(9L, "Updated Task", "Updated Description", LocalDate.now(), false, false);
+        when(taskStore.findAllById(Set.of(1L, 9L))).thenReturn(List.of(task));
+
+        List<BatchItemResult> results = taskService.updateTasks(List.of(found, missing));
+
+        assertThat(results).extracting(BatchItemResult::getStatus)
+                .containsExactly(BatchItemStatus.UPDATED, BatchItemStatus.NOT_FOUND);
+        assertThat(task.getTitle()).isEqualTo("Updated Task");
+        assertThat(task.getPriority()).isEqualTo(Priority.HIGH);
+        verify(taskStore, times(1)).saveAll(List.of(task));
+    }
+
+    @Test
+    void deleteTasks_ShouldDeleteExistingTasksInOneStatement() {
+        when(taskStore.findExistingIds(anyCollection())).thenReturn(List.of(1L, 3L));
+
+        List<BatchItemResult> results = taskService.deleteTasks(List.of(1L, 2L, 3L));
+
+        assertThat(results).extracting(BatchItemResult::getStatus)
+                .containsExactly(BatchItemStatus.DELETED, BatchItemStatus.NOT_FOUND, BatchItemStatus.DELETED);
+        verify(taskStore, times(1)).deleteAllById(Set.of(1L, 3L));
+        verify(taskCaches, times(1)).evictTasks(Set.of(1L, 3L));
+        verify(taskStatsCounters, times(1)).removeAfterCommit(anyList());
+    }
+
+    @Test
+    void createTasks_ShouldRejectOversizedBatch() {
+        List<CreateTaskRequest> requests = Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1, createTaskRequest);
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(requests));
+        verifyNoInteractions(taskStore);
+    }
+
+    @Test
+    void searchTasks_ShouldMatchWordPrefixesAndReturnCursor_WhenMoreResultsExist() {
+        Task second = Task.builder().id(2L).title("Test Report").build();
+        Task third = Task.builder().id(3L).title("Tested").build();
+        when(taskStore.search(eq(List.of("test", "rep")), any(), isNull(), eq(3), eq(TaskField.DEFAULTS)))
+                .thenReturn(List.of(new TaskSearchHit(TaskResponse.from(task), 0.5f),
+                        new TaskSearchHit(TaskResponse.from(second), 0.25f), new TaskSearchHit(TaskResponse.from(third), 0.1f)));
+
+        TaskPage page = taskService.searchTasks("test, rep!", new TaskFilter(), TaskField.DEFAULTS, null, 2);
+
+        assertThat(page.getItems()).containsExactlyElementsOf(responses(task, second));
+        assertThat(TaskSearchCursor.decode(page.getNextCursor())).isEqualTo(new TaskSearchCursor(0.25f, 2L));
+    }
+
+    @Test
+    void searchTasks_ShouldRejectTextWithoutWords() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(" & :* ", new TaskFilter(), TaskField.DEFAULTS, null, 10));
+        verifyNoInteractions(taskStore);
+    }
+
+    private static List<TaskResponse> responses(Task... tasks) {
+        return Arrays.stream(tasks).map(TaskResponse::from).toList();
     }
 }
@@ -0,0 +1,83 @@
+package com.example.lime.task.changes;
+
+import com.example.lime.task.enums.TaskChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeFeedTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        changeFeed = new TaskChangeFeed(3, meterRegistry);
+    }
+
+    @Test
+    void subscribe_ShouldReplayEventsAfterLastEventId_ThenDeliverNewOnes() {
+        changeFeed.publish(events(1, 2, 3));
+        List<TaskChangeEvent> received = new ArrayList<>();
+
+        changeFeed.subscribe("1", received::add);
+        changeFeed.publish(events(4));
+
+        assertThat(received).extracting(TaskChangeEvent::id).containsExactly(2L, 3L, 4L);
+        assertThat(meterRegistry.get("task.changes.subscribers").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_ShouldSendResync_WhenLastEventIdIsNoLongerBuffered() {
+        changeFeed.publish(events(1, 2, 3, 4));
+        List<TaskChangeEvent> received = new ArrayList<>();
+
+        changeFeed.subscribe("1", received::add);
+
+        assertThat(received).singleElement()
+                .satisfies(event -> {
+                    assertThat(event.type()).isEqualTo(TaskChangeType.RESYNC);
+                    assertThat(event.id()).isEqualTo(4L);
+                });
+    }
+
+    @Test
+    void subscribe_ShouldReplayNothing_WhenClientIsUpToDateOrNew() {
+        changeFeed.publish(events(1, 2));
+        List<TaskChangeEvent> received = new ArrayList<>();
+
+        changeFeed.subscribe("2", received::add);
+        changeFeed.subscribe(null, received::add);
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void resync_ShouldClearReplayBufferAndNotifySubscribers() {
+        changeFeed.publish(events(1, 2));
+        List<TaskChangeEvent> received = new ArrayList<>();
+        Runnable unsubscribe = changeFeed.subscribe(null, received::add);
+
+        changeFeed.resync();
+        unsubscribe.run();
+        changeFeed.publish(events(3));
+        List<TaskChangeEvent> resumed = new ArrayList<>();
+        changeFeed.subscribe("2", resumed::add);
+
+        assertThat(received).extracting(TaskChangeEvent::type).containsExactly(TaskChangeType.RESYNC);
+        assertThat(resumed).extracting(TaskChangeEvent::type).containsExactly(TaskChangeType.RESYNC);
+    }
+
+    private static List<TaskChangeEvent> events(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new TaskChangeEvent(id, TaskChangeType.UPDATED, id, null))
+                .toList();
+    }
+}
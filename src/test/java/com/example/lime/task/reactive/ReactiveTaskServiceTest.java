@@ -0,0 +1,101 @@
+package com.example.lime.task.reactive;
+
+import com.example.lime.task.Task;
+import com.example.lime.task.TaskCursor;
+import com.example.lime.task.TaskFilter;
+import com.example.lime.task.dto.request.CreateTaskRequest;
+import com.example.lime.task.dto.request.UpdateTaskRequest;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTaskServiceTest {
+
+    @Mock
+    private ReactiveTaskRepository taskRepository;
+
+    @InjectMocks
+    private ReactiveTaskService taskService;
+
+    @Test
+    void createTask_ShouldCalculatePriorityAndRecordSystemUser_WhenUnauthenticated() {
+        CreateTaskRequest request = new CreateTaskRequest("Test Task", "Test Description", LocalDate.now().plusDays(5), false);
+        when(taskRepository.insert(any(Task.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(taskService.createTask(request))
+                .assertNext(task -> {
+                    assertThat(task.getPriority()).isEqualTo(Priority.MEDIUM);
+                    assertThat(task.getCreatedBy()).isEqualTo("system");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getTasks_ShouldReturnCursor_WhenMoreRowsThanPageSize() {
+        TaskResponse first = TaskResponse.builder().id(1L).priority(Priority.HIGH).dueDate(LocalDate.of(2030, 1, 1)).build();
+        TaskResponse second = TaskResponse.builder().id(2L).priority(Priority.LOW).dueDate(LocalDate.of(2030, 1, 2)).build();
+        when(taskRepository.findPage(any(TaskFilter.class), eq(SortType.PRIORITY), eq(null), eq(2), eq(TaskField.DEFAULTS)))
+                .thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(taskService.getTasks(SortType.PRIORITY, new TaskFilter(), TaskField.DEFAULTS, null, 1))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).containsExactly(first);
+                    assertThat(TaskCursor.decode(page.getNextCursor(), SortType.PRIORITY).id()).isEqualTo(1L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getTasks_ShouldFail_WhenCursorIsInvalid() {
+        StepVerifier.create(taskService.getTasks(SortType.PRIORITY, new TaskFilter(), TaskField.DEFAULTS, "not-a-cursor", 10))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void updateTask_ShouldFailWithOptimisticLocking_WhenVersionIsStale() {
+        UpdateTaskRequest request = new UpdateTaskRequest("Updated Task", "Updated Description", LocalDate.now().plusDays(3), true, false);
+        when(taskRepository.update(any(Task.class), eq(3L))).thenReturn(Mono.empty());
+        when(taskRepository.findVersionById(1L)).thenReturn(Mono.just(4L));
+
+        StepVerifier.create(taskService.updateTask(1L, request, 3L))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+
+        ArgumentCaptor<Task> written = ArgumentCaptor.forClass(Task.class);
+        verify(taskRepository).update(written.capture(), eq(3L));
+        assertThat(written.getValue().getPriority()).isEqualTo(Priority.LOW);
+    }
+
+    @Test
+    void updateTask_ShouldFailWithNotFound_WhenTaskDoesNotExist() {
+        UpdateTaskRequest request = new UpdateTaskRequest("Updated Task", "Updated Description", LocalDate.now().plusDays(3), false, false);
+        when(taskRepository.update(any(Task.class), eq(null))).thenReturn(Mono.empty());
+        when(taskRepository.findVersionById(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.updateTask(1L, request, null))
+                .expectErrorMatches(e -> e instanceof EntityNotFoundException && e.getMessage().equals("Task with ID 1 not found"))
+                .verify();
+    }
+}
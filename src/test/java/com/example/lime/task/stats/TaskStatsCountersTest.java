@@ -0,0 +1,108 @@
+package com.example.lime.task.stats;
+
+import com.example.lime.task.dto.response.TaskStats;
+import com.example.lime.task.dto.response.TaskStatsCount;
+import com.example.lime.task.enums.DueBucket;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.store.TaskStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsCountersTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private TaskStore taskStore;
+
+    @InjectMocks
+    private TaskStatsCounters counters;
+
+    @Test
+    void stats_ShouldLoadOnce_AndGroupDueDatesIntoBuckets() {
+        when(taskStore.countByStatsKey()).thenReturn(List.of(
+                new TaskStatsRow(Priority.HIGH, false, TODAY.minusDays(2), 2),
+                new TaskStatsRow(Priority.HIGH, false, TODAY.minusDays(1), 3),
+                new TaskStatsRow(Priority.MEDIUM, false, TODAY.plusDays(3), 4),
+                new TaskStatsRow(Priority.LOW, true, null, 1)));
+
+        TaskStats stats = counters.stats();
+        counters.stats();
+
+        assertThat(stats.getTotal()).isEqualTo(10);
+        assertThat(stats.getCounts())
+                .extracting(TaskStatsCount::getPriority, TaskStatsCount::isCompleted, TaskStatsCount::getDue, TaskStatsCount::getCount)
+                .containsExactly(
+                        tuple(Priority.HIGH, false, DueBucket.OVERDUE, 5L),
+                        tuple(Priority.MEDIUM, false, DueBucket.THIS_WEEK, 4L),
+                        tuple(Priority.LOW, true, DueBucket.LATER, 1L));
+        verify(taskStore, times(1)).countByStatsKey();
+    }
+
+    @Test
+    void move_ShouldShiftCountBetweenKeys_AndDropEmptyCells() {
+        TaskStatsKey open = new TaskStatsKey(Priority.HIGH, false, TODAY);
+        TaskStatsKey done = new TaskStatsKey(Priority.LOW, true, TODAY);
+        when(taskStore.countByStatsKey()).thenReturn(List.of(new TaskStatsRow(Priority.HIGH, false, TODAY, 1)));
+        counters.reconcile();
+
+        counters.move(open, done);
+        counters.add(new TaskStatsKey(Priority.MEDIUM, false, null), 1);
+
+        assertThat(counters.stats().getCounts())
+                .extracting(TaskStatsCount::getPriority, TaskStatsCount::getDue, TaskStatsCount::getCount)
+                .containsExactly(
+                        tuple(Priority.MEDIUM, DueBucket.LATER, 1L),
+                        tuple(Priority.LOW, DueBucket.TODAY, 1L));
+    }
+
+    @Test
+    void reconcile_ShouldReturnDrift_AndReplaceCounts() {
+        when(taskStore.countByStatsKey())
+                .thenReturn(List.of(new TaskStatsRow(Priority.HIGH, false, TODAY, 5)))
+                .thenReturn(List.of(
+                        new TaskStatsRow(Priority.HIGH, false, TODAY, 3),
+                        new TaskStatsRow(Priority.LOW, false, null, 2)));
+        assertThat(counters.reconcile()).isZero();
+
+        long drift = counters.reconcile();
+
+        assertThat(drift).isEqualTo(4);
+        assertThat(counters.stats().getTotal()).isEqualTo(5);
+    }
+
+    @Test
+    void reconcile_ShouldKeepChangesCommittedWhileCounting() {
+        TaskStatsKey open = new TaskStatsKey(Priority.HIGH, false, TODAY);
+        TaskStatsKey done = new TaskStatsKey(Priority.HIGH, true, TODAY);
+        when(taskStore.countByStatsKey())
+                .thenReturn(List.of(new TaskStatsRow(Priority.HIGH, false, TODAY, 2)))
+                .thenAnswer(invocation -> {
+                    // committed after the count took its snapshot, so the count still has the old state
+                    counters.move(open, done);
+                    counters.add(open, 1);
+                    return List.of(new TaskStatsRow(Priority.HIGH, false, TODAY, 2));
+                });
+        counters.reconcile();
+
+        long drift = counters.reconcile();
+
+        assertThat(drift).isZero();
+        assertThat(counters.stats().getCounts())
+                .extracting(TaskStatsCount::isCompleted, TaskStatsCount::getCount)
+                .containsExactly(tuple(false, 2L), tuple(true, 1L));
+    }
+}
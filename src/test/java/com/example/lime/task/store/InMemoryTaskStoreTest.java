@@ -0,0 +1,202 @@
+package com.example.lime.task.store;
+
+import com.example.lime.task.Task;
+import com.example.lime.task.TaskCursor;
+import com.example.lime.task.TaskFilter;
+import com.example.lime.task.TaskSearchCursor;
+import com.example.lime.task.TaskSearchHit;
+import com.example.lime.task.TaskSetVersion;
+import com.example.lime.task.dto.response.TaskResponse;
+import com.example.lime.task.enums.Priority;
+import com.example.lime.task.enums.SortType;
+import com.example.lime.task.enums.TaskField;
+import com.example.lime.task.stats.TaskStatsChange;
+import com.example.lime.task.stats.TaskStatsKey;
+import com.example.lime.task.stats.TaskStatsRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryTaskStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private InMemoryTaskStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryTaskStore(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findPage_ShouldWalkBothSortOrdersPageByPage() {
+        Random random = new Random(7);
+        List<Task> saved = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            saved.add(store.save(task("Task " + i, TODAY.plusDays(random.nextInt(10)),
+                    Priority.values()[random.nextInt(3)], random.nextBoolean())));
+        }
+        store.deleteAllById(List.of(saved.get(3).getId(), saved.get(50).getId()));
+        saved.remove(50);
+        saved.remove(3);
+
+        assertThat(allPages(SortType.PRIORITY, null)).containsExactlyElementsOf(saved.stream()
+                .sorted(Comparator.comparing(Task::getPriority).thenComparing(Task::getDueDate).thenComparing(Task::getId))
+                .map(Task::getId).toList());
+        assertThat(allPages(SortType.DUE_DATE, null)).containsExactlyElementsOf(saved.stream()
+                .sorted(Comparator.comparing(Task::getDueDate).thenComparing(Task::getPriority).thenComparing(Task::getId))
+                .map(Task::getId).toList());
+
+        TaskFilter filter = TaskFilter.builder()
+                .completed(false)
+                .priority(EnumSet.of(Priority.HIGH, Priority.LOW))
+                .dueFrom(TODAY.plusDays(2))
+                .dueTo(TODAY.plusDays(6))
+                .build();
+        assertThat(allPages(SortType.DUE_DATE, filter)).containsExactlyElementsOf(saved.stream()
+                .filter(task -> !task.isCompleted() && task.getPriority() != Priority.MEDIUM
+                        && !task.getDueDate().isBefore(TODAY.plusDays(2)) && !task.getDueDate().isAfter(TODAY.plusDays(6)))
+                .sorted(Comparator.comparing(Task::getDueDate).thenComparing(Task::getPriority).thenComparing(Task::getId))
+                .map(Task::getId).toList());
+    }
+
+    @Test
+    void findPage_ShouldFilterByCreator_AndReadOnlySelectedFieldsPlusSortKeys() {
+        store.save(task("By system", TODAY, Priority.HIGH, false));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null));
+        store.save(task("By alice", TODAY, Priority.LOW, false));
+
+        List<TaskResponse> page = store.findPage(TaskFilter.builder().createdBy("alice").build(), SortType.PRIORITY,
+                null, 10, EnumSet.of(TaskField.TITLE));
+
+        assertThat(page).singleElement().satisfies(task -> {
+            assertThat(task.getTitle()).isEqualTo("By alice");
+            assertThat(task.getId()).isEqualTo(2L);
+            assertThat(task.getPriority()).isEqualTo(Priority.LOW);
+            assertThat(task.getDescription()).isNull();
+        });
+        assertThat(store.findPage(TaskFilter.builder().createdBy("bob").build(), SortType.PRIORITY, null, 10,
+                TaskField.DEFAULTS)).isEmpty();
+    }
+
+    @Test
+    void save_ShouldBumpVersion_AndRejectStaleOne() {
+        Task created = store.save(task("Write tests", TODAY, Priority.MEDIUM, false));
+        created.setTitle("Write more tests");
+        Task updated = store.save(created);
+
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(updated.getLastModifiedBy()).isEqualTo("system");
+        assertThat(store.findById(created.getId())).get().extracting(Task::getTitle).isEqualTo("Write more tests");
+        assertThrows(OptimisticLockingFailureException.class, () -> store.save(created));
+        verify(events).publishEvent(new TaskStatsChange(null, new TaskStatsKey(Priority.MEDIUM, false, TODAY)));
+    }
+
+    @Test
+    void findSetVersion_ShouldChange_WhenMatchingTaskChanges() {
+        Task task = store.save(task("Write tests", TODAY, Priority.MEDIUM, false));
+        store.save(task("Other", TODAY, Priority.HIGH, false));
+        TaskFilter medium = TaskFilter.builder().priority(Set.of(Priority.MEDIUM)).build();
+        TaskSetVersion before = store.findSetVersion(medium);
+
+        store.delete(task);
+
+        assertThat(before.count()).isEqualTo(1);
+        assertThat(store.findSetVersion(medium)).isNotEqualTo(before);
+        assertThat(store.findSetVersion(null).count()).isEqualTo(1);
+        assertThat(store.findSetVersion(TaskFilter.builder().priority(Set.of()).build()).count()).isZero();
+    }
+
+    @Test
+    void escalatePriorityDueOnOrBefore_ShouldMoveOpenTasksOnly() {
+        store.save(task("Due soon", TODAY.plusDays(1), Priority.LOW, false));
+        store.save(task("Done", TODAY.plusDays(1), Priority.LOW, true));
+        store.save(task("Due later", TODAY.plusDays(20), Priority.LOW, false));
+
+        int escalated = store.escalatePriorityDueOnOrBefore(EnumSet.of(Priority.MEDIUM, Priority.LOW), Priority.HIGH,
+                TODAY.plusDays(2), LocalDateTime.now(), "system");
+
+        assertThat(escalated).isEqualTo(1);
+        assertThat(store.findById(1L)).get().satisfies(task -> {
+            assertThat(task.getPriority()).isEqualTo(Priority.HIGH);
+            assertThat(task.getVersion()).isEqualTo(1L);
+        });
+        assertThat(store.countByStatsKey()).containsExactlyInAnyOrder(
+                new TaskStatsRow(Priority.HIGH, false, TODAY.plusDays(1), 1),
+                new TaskStatsRow(Priority.LOW, true, TODAY.plusDays(1), 1),
+                new TaskStatsRow(Priority.LOW, false, TODAY.plusDays(20), 1));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesFirst_AndContinueAfterCursor() {
+        store.save(task("Quarterly report", "numbers", TODAY, Priority.LOW));
+        store.save(task("Budget", "for the quarterly report", TODAY, Priority.LOW));
+        store.save(task("Reporting", "quarter", TODAY, Priority.LOW));
+        store.save(task("Unrelated", "nothing here", TODAY, Priority.LOW));
+
+        List<TaskSearchHit> first = store.search(List.of("quart", "REP"), null, null, 2, TaskField.DEFAULTS);
+        TaskSearchHit last = first.get(first.size() - 1);
+        List<TaskSearchHit> rest = store.search(List.of("quart", "REP"), null,
+                new TaskSearchCursor(last.rank(), last.task().getId()), 2, TaskField.DEFAULTS);
+
+        assertThat(first).extracting(hit -> hit.task().getId()).containsExactly(1L, 3L);
+        assertThat(rest).extracting(hit -> hit.task().getId()).containsExactly(2L);
+    }
+
+    private List<Long> allPages(SortType sort, TaskFilter filter) {
+        List<Long> ids = new ArrayList<>();
+        TaskCursor after = null;
+        while (true) {
+            List<TaskResponse> page = store.findPage(filter, sort, after, 7, EnumSet.of(TaskField.ID));
+            page.forEach(task -> ids.add(task.getId()));
+            if (page.size() < 7) {
+                return ids;
+            }
+            after = TaskCursor.of(sort, page.get(page.size() - 1));
+        }
+    }
+
+    private static Task task(String title, LocalDate dueDate, Priority priority, boolean isCompleted) {
+        Task task = task(title, "Description", dueDate, priority);
+        task.setCompleted(isCompleted);
+        return task;
+    }
+
+    private static Task task(String title, String description, LocalDate dueDate, Priority priority) {
+        return Task.builder()
+                .title(title)
+                .description(description)
+                .dueDate(dueDate)
+                .priority(priority)
+                .build();
+    }
+}
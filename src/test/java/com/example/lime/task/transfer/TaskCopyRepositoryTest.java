@@ -0,0 +1,110 @@
+package com.example.lime.task.transfer;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TaskCopyRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TaskCopyRepository repository = new TaskCopyRepository(jdbcTemplate);
+    private final InputStream in = new ByteArrayInputStream(new byte[0]);
+
+    @Test
+    void copyIn_ShouldReportInvalidRows_AndImportNothing() throws SQLException {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("row_number")).thenReturn(2L);
+        when(row.getString("title")).thenReturn("ab");
+        when(row.getString("description")).thenReturn(null);
+        when(row.getObject("due_date")).thenReturn(Date.valueOf(TODAY));
+        when(row.getString("priority")).thenReturn("URGENT");
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Long>>any())).thenReturn(1L);
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<String>>any()))
+                .thenAnswer(invocation -> List.of(invocation.<RowMapper<String>>getArgument(1).mapRow(row, 0)));
+
+        assertThatThrownBy(() -> repository.copyIn(TaskImportTable.csv("title,description,dueDate,priority"), in,
+                TODAY, "admin"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Nothing was imported. Row 2: Field 'title': Title must be at least 3 characters long, "
+                        + "Field 'description': must not be null, Field 'priority': must be HIGH, MEDIUM or LOW");
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void copyIn_ShouldReportValuesThatDoNotFitAColumn() {
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Long>>any())).thenThrow(
+                new DataIntegrityViolationException("COPY",
+                        new SQLException("invalid input syntax for type date: \"tomorrow\"", "22007")));
+
+        assertThatThrownBy(() -> repository.copyIn(TaskImportTable.ndjson(), in, TODAY, "admin"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Nothing was imported. invalid input syntax for type date: \"tomorrow\"");
+    }
+
+    @Test
+    void copyIn_ShouldReserveOneSequenceValuePerFiftyTasks_SkippingTheFirstValueOfANewSequence() {
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Long>>any())).thenReturn(120L);
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<String>>any())).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(120L);
+        // a new sequence: 1 only stands for itself, 51 for the ids 2 to 51, and so on
+        when(jdbcTemplate.queryForList(contains("nextval('task_seq')"), eq(Long.class), eq(4L)))
+                .thenReturn(List.of(1L, 51L, 101L, 151L));
+        when(jdbcTemplate.update(anyString(), any(), any(), any())).thenReturn(120);
+
+        long imported = repository.copyIn(TaskImportTable.ndjson(), in, TODAY, "admin");
+
+        ArgumentCaptor<Long[]> blocks = ArgumentCaptor.forClass(Long[].class);
+        verify(jdbcTemplate).update(contains("INSERT INTO audit_log"), blocks.capture(), eq("admin"), any(Timestamp.class));
+        assertThat(imported).isEqualTo(120);
+        assertThat(blocks.getValue()).containsExactly(51L, 101L, 151L);
+    }
+
+    @Test
+    void copyIn_ShouldReserveOnlyTheBlocksNeeded_OnAUsedSequence() {
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Long>>any())).thenReturn(50L);
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<String>>any())).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(50L);
+        when(jdbcTemplate.queryForList(contains("nextval('task_seq')"), eq(Long.class), eq(2L)))
+                .thenReturn(List.of(201L, 251L));
+
+        repository.copyIn(TaskImportTable.ndjson(), in, TODAY, "admin");
+
+        ArgumentCaptor<Long[]> blocks = ArgumentCaptor.forClass(Long[].class);
+        verify(jdbcTemplate).update(anyString(), blocks.capture(), eq("admin"), any(Timestamp.class));
+        assertThat(blocks.getValue()).containsExactly(201L);
+    }
+
+    @Test
+    void copyIn_ShouldInsertNothing_WhenFileHasNoRows() {
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Long>>any())).thenReturn(0L);
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<String>>any())).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+
+        assertThat(repository.copyIn(TaskImportTable.ndjson(), in, TODAY, "admin")).isZero();
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Long.class), any());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.lime.task.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskImportTableTest {
+
+    @Test
+    void csv_ShouldMapColumnsByName_AndSkipThoseAnExportAdds() {
+        TaskImportTable table = TaskImportTable.csv(
+                "\uFEFFid,\"title\",Description,due_date,priority,is_completed,version,createdBy,createdDate");
+
+        assertThat(table.create()).contains("c1 text, c2 text, c3 text, c4 text, c5 text, c6 text, c7 text, c8 text, c9 text");
+        assertThat(table.copy()).contains("(c1, c2, c3, c4, c5, c6, c7, c8, c9)");
+        assertThat(table.field("title")).isEqualTo("s.c2");
+        assertThat(table.field("description")).isEqualTo("s.c3");
+        assertThat(table.field("dueDate")).isEqualTo("s.c4");
+        assertThat(table.field("priority")).isEqualTo("s.c5");
+        assertThat(table.field("completed")).isEqualTo("s.c6");
+        assertThat(table.field("critical")).isEqualTo("NULL");
+    }
+
+    @Test
+    void csv_ShouldReject_UnknownDuplicateOrMissingColumns() {
+        assertThatThrownBy(() -> TaskImportTable.csv("title,description,dueDate,owner"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown column 'owner'");
+        assertThatThrownBy(() -> TaskImportTable.csv("title,description,dueDate,due_date"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Column 'dueDate' appears more than once");
+        assertThatThrownBy(() -> TaskImportTable.csv("title,dueDate"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing column 'description'");
+        assertThatThrownBy(() -> TaskImportTable.csv(""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ndjson_ShouldReadFieldsFromTheDocument_AndSkipBlankLines() {
+        TaskImportTable table = TaskImportTable.ndjson();
+
+        assertThat(table.field("dueDate")).isEqualTo("s.doc ->> 'dueDate'");
+        assertThat(table.rows()).isEqualTo("s.doc IS NOT NULL");
+    }
+
+    @Test
+    void readHeader_ShouldLeaveStreamAtSecondLine() throws Exception {
+        InputStream in = new ByteArrayInputStream("title,description,dueDate\r\nWrite,docs,2026-01-01\r\n"
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertThat(TaskImportTable.readHeader(in)).isEqualTo("title,description,dueDate");
+        assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("Write,docs,2026-01-01\r\n");
+    }
+}